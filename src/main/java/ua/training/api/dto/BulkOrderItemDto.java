@@ -0,0 +1,23 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import ua.training.domain.order.Money;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class BulkOrderItemDto {
+
+    private int index;
+
+    private Long orderId;
+
+    private Money shippingPriceInCents;
+
+    private String error;
+
+}
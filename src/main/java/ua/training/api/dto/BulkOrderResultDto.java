@@ -0,0 +1,22 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class BulkOrderResultDto {
+
+    private int created;
+
+    private int failed;
+
+    private List<BulkOrderItemDto> items;
+
+}
@@ -0,0 +1,26 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class CacheStatisticsDto {
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRate;
+
+    private long invalidations;
+
+    private long evictions;
+
+    private long users;
+
+}
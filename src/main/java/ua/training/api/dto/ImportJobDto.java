@@ -0,0 +1,33 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import ua.training.domain.order.ImportStatus;
+
+import java.util.List;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class ImportJobDto {
+
+    private String jobId;
+
+    private ImportStatus status;
+
+    private long processedRows;
+
+    private long createdOrders;
+
+    private long failedRows;
+
+    private List<ImportRowErrorDto> errors;
+
+    private boolean errorsTruncated;
+
+    private String message;
+
+}
@@ -0,0 +1,18 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class ImportRowErrorDto {
+
+    private long row;
+
+    private String error;
+
+}
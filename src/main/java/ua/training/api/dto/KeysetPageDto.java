@@ -0,0 +1,20 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class KeysetPageDto<T> {
+
+    private List<T> content;
+
+    private Long nextCursor;
+
+}
@@ -0,0 +1,42 @@
+package ua.training.api.dto;
+
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import ua.training.domain.order.Status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class OrderSearchDto {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate shippingDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate shippingDateTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deliveryDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deliveryDateTo;
+
+    private String cityFrom;
+
+    private String cityTo;
+
+    private Long orderTypeId;
+
+    private Status status;
+
+    private BigDecimal priceFrom;
+
+    private BigDecimal priceTo;
+
+}
@@ -0,0 +1,25 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import ua.training.domain.order.Status;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class OrderStatusEventDto {
+
+    private Long eventId;
+
+    private Long orderId;
+
+    private String ownerLogin;
+
+    private Status previousStatus;
+
+    private Status status;
+
+}
@@ -0,0 +1,24 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class OrderTypeStatisticsDto {
+
+    private Long orderTypeId;
+
+    private String name;
+
+    private Long ordersNumber;
+
+    private BigDecimal earnings;
+
+}
@@ -0,0 +1,33 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import ua.training.domain.order.Money;
+
+import java.math.BigDecimal;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class QuoteDto {
+
+    private int index;
+
+    private String destinationCityFrom;
+
+    private String destinationCityTo;
+
+    private String type;
+
+    private BigDecimal weight;
+
+    private Money shippingPriceInCents;
+
+    private Long daysToDeliver;
+
+    private String error;
+
+}
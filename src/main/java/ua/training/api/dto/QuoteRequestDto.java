@@ -0,0 +1,23 @@
+package ua.training.api.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class QuoteRequestDto {
+
+    private String destinationCityFrom;
+
+    private String destinationCityTo;
+
+    private String type;
+
+    private BigDecimal weight;
+
+}
@@ -2,6 +2,7 @@ package ua.training.api.dto;
 
 
 import lombok.*;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Status;
 
 import java.math.BigDecimal;
@@ -28,4 +29,10 @@ public class ReceiptDto {
     private Long bankCard;
 
     private LocalDate creationDate;
+
+    public ReceiptDto(Long id, Long orderId, Money priceInCents, Long userId, Long bankCard,
+                      LocalDate creationDate) {
+        this(id, orderId, priceInCents == null ? null : priceInCents.toBigDecimal(), null, userId, bankCard,
+                creationDate);
+    }
 }
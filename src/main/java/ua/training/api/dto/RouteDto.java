@@ -0,0 +1,23 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import ua.training.domain.order.Money;
+
+import java.util.List;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class RouteDto {
+
+    private List<String> cities;
+
+    private Money priceInCents;
+
+    private Long daysToDeliver;
+
+}
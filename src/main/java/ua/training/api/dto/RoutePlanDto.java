@@ -0,0 +1,22 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class RoutePlanDto {
+
+    private String cityFrom;
+
+    private String cityTo;
+
+    private RouteDto cheapest;
+
+    private RouteDto fastest;
+
+}
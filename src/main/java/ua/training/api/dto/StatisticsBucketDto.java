@@ -0,0 +1,25 @@
+package ua.training.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@ToString
+@Builder
+@Getter
+public class StatisticsBucketDto {
+
+    private LocalDate periodStart;
+
+    private LocalDate periodEnd;
+
+    private Long ordersNumber;
+
+    private BigDecimal earnings;
+
+}
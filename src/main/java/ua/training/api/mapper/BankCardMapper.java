@@ -5,7 +5,7 @@ import org.mapstruct.factory.Mappers;
 import ua.training.api.dto.BankCardDto;
 import ua.training.domain.user.BankCard;
 
-@Mapper(componentModel = "spring")
+@Mapper(uses = MoneyMapper.class, componentModel = "spring")
 public interface BankCardMapper {
 
     BankCardMapper INSTANCE = Mappers.getMapper(BankCardMapper.class);
@@ -5,8 +5,8 @@ import org.mapstruct.factory.Mappers;
 import ua.training.api.dto.DestinationDto;
 import ua.training.domain.order.Destination;
 
-@Mapper(componentModel = "spring")
-public interface  DestinationMapper {
+@Mapper(uses = MoneyMapper.class, componentModel = "spring")
+public interface DestinationMapper {
 
     DestinationMapper INSTANCE = Mappers.getMapper(DestinationMapper.class);
 
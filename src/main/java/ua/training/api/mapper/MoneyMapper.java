@@ -0,0 +1,19 @@
+package ua.training.api.mapper;
+
+import ua.training.domain.order.Money;
+
+import java.math.BigDecimal;
+
+public final class MoneyMapper {
+
+    private MoneyMapper() {
+    }
+
+    public static BigDecimal moneyToBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    public static Money bigDecimalToMoney(BigDecimal amount) {
+        return Money.of(amount);
+    }
+}
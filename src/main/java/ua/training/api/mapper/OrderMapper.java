@@ -4,10 +4,15 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
 import org.mapstruct.factory.Mappers;
+import ua.training.api.dto.DestinationDto;
 import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.OrderTypeDto;
+import ua.training.api.dto.ReceiptDto;
 import ua.training.domain.order.Order;
+import ua.training.repository.projection.OrderListRow;
 
-@Mapper(uses = {OrderTypeMapper.class, DestinationMapper.class, ReceiptMapper.class}, componentModel = "spring")
+@Mapper(uses = {OrderTypeMapper.class, DestinationMapper.class, ReceiptMapper.class, MoneyMapper.class},
+        componentModel = "spring")
 public interface OrderMapper {
 
     OrderMapper INSTANCE = Mappers.getMapper(OrderMapper.class);
@@ -22,4 +27,36 @@ public interface OrderMapper {
 
 
     OrderDto orderToOrderDto(Order order);
+
+    default OrderDto orderListRowToOrderDto(OrderListRow row) {
+        return OrderDto.builder()
+                .id(row.getId())
+                .description(row.getDescription())
+                .weight(row.getWeight())
+                .status(row.getStatus())
+                .shippingDate(row.getShippingDate() == null ? null : row.getShippingDate().toString())
+                .deliveryDate(row.getDeliveryDate() == null ? null : row.getDeliveryDate().toString())
+                .shippingPriceInCents(MoneyMapper.moneyToBigDecimal(row.getShippingPriceInCents()))
+                .orderType(row.getOrderTypeId() == null ? null : OrderTypeDto.builder()
+                        .id(row.getOrderTypeId())
+                        .name(row.getOrderTypeName())
+                        .priceInCents(MoneyMapper.moneyToBigDecimal(row.getOrderTypePriceInCents()))
+                        .build())
+                .destination(row.getDestinationId() == null ? null : DestinationDto.builder()
+                        .id(row.getDestinationId())
+                        .cityFrom(row.getDestinationCityFrom())
+                        .cityTo(row.getDestinationCityTo())
+                        .daysToDeliver(row.getDestinationDaysToDeliver())
+                        .priceInCents(MoneyMapper.moneyToBigDecimal(row.getDestinationPriceInCents()))
+                        .build())
+                .receipt(row.getReceiptId() == null ? null : ReceiptDto.builder()
+                        .id(row.getReceiptId())
+                        .orderId(row.getId())
+                        .priceInCents(MoneyMapper.moneyToBigDecimal(row.getReceiptPriceInCents()))
+                        .userId(row.getReceiptUserId())
+                        .bankCard(row.getReceiptBankCardId())
+                        .creationDate(row.getReceiptCreationDate())
+                        .build())
+                .build();
+    }
 }
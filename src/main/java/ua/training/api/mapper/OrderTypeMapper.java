@@ -5,7 +5,7 @@ import org.mapstruct.factory.Mappers;
 import ua.training.api.dto.OrderTypeDto;
 import ua.training.domain.order.OrderType;
 
-@Mapper(componentModel = "spring")
+@Mapper(uses = MoneyMapper.class, componentModel = "spring")
 public interface OrderTypeMapper {
 
     OrderTypeMapper INSTANCE = Mappers.getMapper(OrderTypeMapper.class);
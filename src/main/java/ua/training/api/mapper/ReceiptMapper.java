@@ -7,7 +7,7 @@ import org.mapstruct.factory.Mappers;
 import ua.training.api.dto.ReceiptDto;
 import ua.training.domain.order.Receipt;
 
-@Mapper(uses = UserMapper.class, componentModel = "spring")
+@Mapper(uses = {UserMapper.class, MoneyMapper.class}, componentModel = "spring")
 public interface ReceiptMapper {
 
     ReceiptMapper INSTANCE = Mappers.getMapper(ReceiptMapper.class);
@@ -1,15 +1,34 @@
 package ua.training.controller;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.training.api.dto.CacheStatisticsDto;
+import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.api.dto.OrderTypeStatisticsDto;
+import ua.training.api.dto.PageDto;
 import ua.training.api.dto.ReceiptDto;
+import ua.training.api.dto.RouteStatisticsDto;
+import ua.training.api.dto.StatisticsBucketDto;
 import ua.training.api.dto.StatisticsDto;
 import ua.training.exception.OrderNotFoundException;
 import ua.training.service.AdminService;
+import ua.training.service.AnalyticsService;
+import ua.training.service.Granularity;
+import ua.training.service.OrderService;
+import ua.training.service.OrderStatusStreamService;
+import ua.training.service.OrderTextSearchService;
 import ua.training.service.ReceiptService;
+import ua.training.service.cache.ReferenceDataWatcher;
+import ua.training.service.cache.UserOrderCache;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,10 +41,25 @@ public class AdminController {
 
     private final AdminService adminService;
     private final ReceiptService receiptService;
-
-    public AdminController(AdminService adminService, ReceiptService receiptService) {
+    private final AnalyticsService analyticsService;
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final OrderService orderService;
+    private final OrderTextSearchService orderTextSearchService;
+    private final UserOrderCache userOrderCache;
+    private final ReferenceDataWatcher referenceDataWatcher;
+
+    public AdminController(AdminService adminService, ReceiptService receiptService,
+                           AnalyticsService analyticsService, OrderStatusStreamService orderStatusStreamService,
+                           OrderService orderService, OrderTextSearchService orderTextSearchService,
+                           UserOrderCache userOrderCache, ReferenceDataWatcher referenceDataWatcher) {
         this.adminService = adminService;
         this.receiptService = receiptService;
+        this.analyticsService = analyticsService;
+        this.orderStatusStreamService = orderStatusStreamService;
+        this.orderService = orderService;
+        this.orderTextSearchService = orderTextSearchService;
+        this.userOrderCache = userOrderCache;
+        this.referenceDataWatcher = referenceDataWatcher;
     }
 
     @PatchMapping("/to_ship/{id}")
@@ -70,6 +104,88 @@ public class AdminController {
         return new ArrayList<>(createStatistics().getEarningsOfOrdersByForYear().values());
     }
 
+    @GetMapping("/analytics")
+    @ResponseStatus(HttpStatus.OK)
+    public List<StatisticsBucketDto> createRevenueStatistics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTH") Granularity granularity){
+
+        return analyticsService.createRevenueStatistics(from, to, granularity);
+    }
+
+    @GetMapping("/analytics/routes")
+    @ResponseStatus(HttpStatus.OK)
+    public List<RouteStatisticsDto> createRouteStatistics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+
+        return analyticsService.createRouteStatistics(from, to);
+    }
+
+    @GetMapping("/analytics/order_types")
+    @ResponseStatus(HttpStatus.OK)
+    public List<OrderTypeStatisticsDto> createOrderTypeStatistics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+
+        return analyticsService.createOrderTypeStatistics(from, to);
+    }
+
+    @GetMapping("/orders/search")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDto<OrderDto> searchOrders(OrderSearchDto search,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size,
+                                          @RequestParam(defaultValue = "id") String sort,
+                                          @RequestParam(defaultValue = "ASC") Sort.Direction direction){
+
+        return orderService.searchOrders(search, null, page, size, sort, direction);
+    }
+
+    @GetMapping("/orders/text_search")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDto<OrderDto> searchOrdersByText(@RequestParam String text,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "20") int size){
+
+        return orderTextSearchService.search(text, page, size);
+    }
+
+    @PostMapping("/orders/text_search/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    public long rebuildOrderTextIndex(){
+
+        return orderTextSearchService.rebuildIndex();
+    }
+
+    @GetMapping(value = "/orders/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId){
+
+        return orderStatusStreamService.subscribeAdmin(lastEventId);
+    }
+
+    @GetMapping("/cache/orders")
+    @ResponseStatus(HttpStatus.OK)
+    public CacheStatisticsDto showOrderCacheStatistics(){
+
+        return userOrderCache.statistics();
+    }
+
+    @PostMapping("/reference_data/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    public long refreshReferenceData(){
+
+        return referenceDataWatcher.refresh();
+    }
+
+    @PostMapping("/statistics/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    public void rebuildStatistics(){
+
+        adminService.rebuildStatistics();
+    }
+
     private StatisticsDto createStatistics(){
         return adminService.createStatisticsDto();
     }
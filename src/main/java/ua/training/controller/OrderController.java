@@ -1,24 +1,54 @@
 package ua.training.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import ua.training.api.dto.DestinationDto;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.training.api.dto.BulkOrderResultDto;
+import ua.training.api.dto.ImportJobDto;
+import ua.training.api.dto.KeysetPageDto;
 import ua.training.api.dto.OrderDto;
-import ua.training.api.dto.OrderTypeDto;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.api.dto.PageDto;
+import ua.training.api.dto.QuoteDto;
+import ua.training.api.dto.QuoteRequestDto;
+import ua.training.api.dto.RoutePlanDto;
+import ua.training.domain.order.Status;
+import ua.training.exception.DestinationNotFoundException;
+import ua.training.exception.ImportJobNotFoundException;
+import ua.training.exception.InvalidRequestException;
 import ua.training.exception.OrderCreateException;
 import ua.training.exception.OrderNotFoundException;
+import ua.training.exception.OrderTypeNotFoundException;
 import ua.training.exception.UserNotFoundException;
+import ua.training.service.BulkOrderService;
+import ua.training.service.CityAutocompleteService;
 import ua.training.service.DestinationService;
+import ua.training.service.OrderImportService;
 import ua.training.service.OrderService;
-import ua.training.service.OrderTypeService;
+import ua.training.service.OrderStatusStreamService;
+import ua.training.service.QuoteService;
+import ua.training.service.cache.ReferenceDataJsonCache;
+import ua.training.service.cache.UserVersionTracker;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RestController
@@ -27,20 +57,43 @@ public class OrderController {
 
     public static final String BASE_URL = "/api/user/shipments";
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final OrderService orderService;
-    private final OrderTypeService orderTypeService;
     private final DestinationService destinationService;
-
-    public OrderController(OrderService orderService, OrderTypeService orderTypeService,
-                           DestinationService destinationService) {
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final BulkOrderService bulkOrderService;
+    private final OrderImportService orderImportService;
+    private final QuoteService quoteService;
+    private final UserVersionTracker userVersionTracker;
+    private final ReferenceDataJsonCache referenceDataJsonCache;
+    private final CityAutocompleteService cityAutocompleteService;
+    private final ObjectMapper objectMapper;
+
+    public OrderController(OrderService orderService, DestinationService destinationService,
+                           OrderStatusStreamService orderStatusStreamService,
+                           BulkOrderService bulkOrderService, OrderImportService orderImportService,
+                           QuoteService quoteService, UserVersionTracker userVersionTracker,
+                           ReferenceDataJsonCache referenceDataJsonCache,
+                           CityAutocompleteService cityAutocompleteService, ObjectMapper objectMapper) {
         this.orderService = orderService;
-        this.orderTypeService = orderTypeService;
         this.destinationService = destinationService;
+        this.orderStatusStreamService = orderStatusStreamService;
+        this.bulkOrderService = bulkOrderService;
+        this.orderImportService = orderImportService;
+        this.quoteService = quoteService;
+        this.userVersionTracker = userVersionTracker;
+        this.referenceDataJsonCache = referenceDataJsonCache;
+        this.cityAutocompleteService = cityAutocompleteService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/show/{filter}")
-    @ResponseStatus(HttpStatus.OK)
-    public List<OrderDto> showUserOrders(@PathVariable String filter, Authentication user){
+    public List<OrderDto> showUserOrders(@PathVariable String filter, Authentication user, WebRequest request){
+
+        if (request.checkNotModified(userVersionTracker.eTag(user.getName()))) {
+            return null;
+        }
 
         List<OrderDto> orderDtoList = new ArrayList<>();
         switch (filter){
@@ -60,13 +113,44 @@ public class OrderController {
         return orderDtoList;
     }
 
-    @GetMapping("/all_orders")
+    @GetMapping(value = "/show/{filter}", params = "size")
     @ResponseStatus(HttpStatus.OK)
-    public List<OrderDto> getAllUserOrders(Authentication user){
+    public KeysetPageDto<OrderDto> showUserOrdersPage(@PathVariable String filter,
+                                                      @RequestParam(required = false) Long after,
+                                                      @RequestParam int size, Authentication user){
+
+        Set<Status> statuses = filterStatuses(filter);
+
+        if (statuses.isEmpty()) {
+            return KeysetPageDto.<OrderDto>builder().content(Collections.emptyList()).build();
+        }
+        return orderService.findUserOrdersPage(user.getName(), statuses, after, size);
+    }
 
+    @GetMapping("/all_orders")
+    public List<OrderDto> getAllUserOrders(Authentication user, WebRequest request){
+
+        if (request.checkNotModified(userVersionTracker.eTag(user.getName()))) {
+            return null;
+        }
         return orderService.findAllUserOrders(user.getName());
     }
 
+    @GetMapping(value = "/all_orders", params = "size")
+    @ResponseStatus(HttpStatus.OK)
+    public KeysetPageDto<OrderDto> getAllUserOrdersPage(@RequestParam(required = false) Long after,
+                                                        @RequestParam int size, Authentication user){
+
+        return orderService.findUserOrdersPage(user.getName(), filterStatuses("all"), after, size);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserOrderEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                            Authentication user){
+
+        return orderStatusStreamService.subscribeUser(user.getName(), lastEventId);
+    }
+
     @GetMapping("/find_order/{id}")
     @ResponseStatus(HttpStatus.OK)
     public List<OrderDto> findOrderByIdAndUserId(@PathVariable Long id,  Authentication user)
@@ -83,6 +167,52 @@ public class OrderController {
         return orderService.createOrder(orderDto, user.getName());
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public BulkOrderResultDto createNewOrders(@RequestBody List<OrderDto> orderDtos, Authentication user)
+            throws OrderCreateException, UserNotFoundException {
+
+        return bulkOrderService.createOrders(orderDtos, user.getName());
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobDto importOrders(@RequestParam("file") MultipartFile file, Authentication user){
+
+        return orderImportService.startImport(file, user.getName());
+    }
+
+    @GetMapping("/import/{jobId}")
+    @ResponseStatus(HttpStatus.OK)
+    public ImportJobDto showImportJob(@PathVariable String jobId, Authentication user)
+            throws ImportJobNotFoundException {
+
+        return orderImportService.getImportJob(jobId, user.getName());
+    }
+
+    @GetMapping("/quote")
+    @ResponseStatus(HttpStatus.OK)
+    public QuoteDto quoteOrder(QuoteRequestDto quoteRequestDto)
+            throws DestinationNotFoundException, OrderTypeNotFoundException {
+
+        return quoteService.quote(quoteRequestDto);
+    }
+
+    @PostMapping("/quote/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<QuoteDto> quoteOrders(@RequestBody List<QuoteRequestDto> quoteRequestDtos){
+
+        return quoteService.quoteAll(quoteRequestDtos);
+    }
+
+    @GetMapping("/routes")
+    @ResponseStatus(HttpStatus.OK)
+    public RoutePlanDto planRoute(@RequestParam String from, @RequestParam String to)
+            throws DestinationNotFoundException {
+
+        return destinationService.getRoutePlan(from, to);
+    }
+
     @PatchMapping(value = "/{id}",  produces = "application/json")
     @ResponseStatus(HttpStatus.OK)
     public OrderDto archiveOrder(@PathVariable Long id) throws OrderNotFoundException {
@@ -118,34 +248,112 @@ public class OrderController {
         return orderService.findAllDeliveredOrdersDto();
     }
 
-    @GetMapping("/types")
+    @GetMapping("/queue/{status}")
     @ResponseStatus(HttpStatus.OK)
-    public List<OrderTypeDto> findAllTypes(){
+    public PageDto<OrderDto> findQueueOrders(@PathVariable String status,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size,
+                                             @RequestParam(defaultValue = "id") String sort,
+                                             @RequestParam(defaultValue = "ASC") Sort.Direction direction){
+
+        return orderService.findOrdersPageByStatus(queueStatus(status), page, size, sort, direction);
+    }
+
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDto<OrderDto> searchUserOrders(OrderSearchDto search,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size,
+                                              @RequestParam(defaultValue = "id") String sort,
+                                              @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                              Authentication user){
+
+        return orderService.searchOrders(search, user.getName(), page, size, sort, direction);
+    }
+
+    @GetMapping(value = "/queue/{status}", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamQueueOrders(@PathVariable String status){
+
+        Status queueStatus = queueStatus(status);
+
+        StreamingResponseBody body = outputStream -> orderService.streamOrdersByStatus(queueStatus, orderDto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(orderDto));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping("/types")
+    public ResponseEntity<byte[]> findAllTypes(){
 
-        return orderTypeService.getAllOrderTypeDto();
+        return referenceDataResponse(referenceDataJsonCache.getTypes());
     }
 
 
     @GetMapping("/destinations_from")
-    @ResponseStatus(HttpStatus.OK)
-    public List<String> findDestinationsFrom(){
+    public ResponseEntity<byte[]> findDestinationsFrom(){
 
-        return destinationService.getAllDestinationDto()
-                .stream()
-                .map(DestinationDto::getCityFrom)
-                .distinct()
-                .collect(Collectors.toList());
+        return referenceDataResponse(referenceDataJsonCache.getDestinationsFrom());
     }
 
     @GetMapping("/destinations_to")
+    public ResponseEntity<byte[]> findDestinationsTo(){
+
+        return referenceDataResponse(referenceDataJsonCache.getDestinationsTo());
+    }
+
+    @GetMapping("/cities")
     @ResponseStatus(HttpStatus.OK)
-    public List<String> findDestinationsTo(){
+    public List<String> completeCity(@RequestParam String prefix,
+                                     @RequestParam(required = false) String direction,
+                                     @RequestParam(required = false) Integer limit) throws InvalidRequestException {
+
+        return cityAutocompleteService.complete(prefix, direction, limit);
+    }
+
+    private ResponseEntity<byte[]> referenceDataResponse(ReferenceDataJsonCache.Entry entry) {
 
-        return destinationService.getAllDestinationDto()
-                .stream()
-                .map(DestinationDto::getCityTo)
-                .distinct()
-                .collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(referenceDataJsonCache.getMaxAgeSeconds(), TimeUnit.SECONDS)
+                        .cachePrivate())
+                .eTag(entry.getETag())
+                .body(entry.getBody());
+    }
+
+    private Status queueStatus(String status) throws InvalidRequestException {
+        switch (status){
+            case "paid":
+                return Status.PAID;
+            case "shipped":
+                return Status.SHIPPED;
+            case "delivered":
+                return Status.DELIVERED;
+            default:
+                throw new InvalidRequestException("no order queue " + status);
+        }
+    }
+
+    private Set<Status> filterStatuses(String filter) {
+        switch (filter){
+            case "all":
+                return EnumSet.complementOf(EnumSet.of(Status.ARCHIVED));
+            case "not_paid":
+                return EnumSet.of(Status.NOT_PAID);
+            case "delivered":
+                return EnumSet.of(Status.DELIVERED);
+            case "archived":
+                return EnumSet.of(Status.ARCHIVED);
+            default:
+                return EnumSet.noneOf(Status.class);
+        }
     }
 
 }
@@ -4,9 +4,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ua.training.api.dto.ReceiptDto;
 import ua.training.exception.OrderReceiptNotFoundException;
 import ua.training.service.ReceiptService;
+import ua.training.service.cache.UserVersionTracker;
 
 import java.util.Collections;
 import java.util.List;
@@ -19,15 +21,19 @@ public class ReceiptController {
     public static final String BASE_URL = "/api/user/receipt";
 
     private final ReceiptService receiptService;
+    private final UserVersionTracker userVersionTracker;
 
-    public ReceiptController(ReceiptService receiptService) {
+    public ReceiptController(ReceiptService receiptService, UserVersionTracker userVersionTracker) {
         this.receiptService = receiptService;
+        this.userVersionTracker = userVersionTracker;
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<ReceiptDto> showAllUserReceipts(Authentication user){
+    public List<ReceiptDto> showAllUserReceipts(Authentication user, WebRequest request){
 
+        if (request.checkNotModified(userVersionTracker.eTag(user.getName()))) {
+            return null;
+        }
         return receiptService.showChecksByUser(user.getName());
     }
 
@@ -3,7 +3,6 @@ package ua.training.domain.order;
 import lombok.*;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,20 +13,24 @@ import java.util.List;
 @Builder
 
 @Entity
-@Table(name = "destination")
+@Table(name = "destination",
+        indexes = {@Index(name = "idx_destination_city_from_to", columnList = "city_from, city_to"),
+                @Index(name = "idx_destination_city_to", columnList = "city_to")})
 public class Destination {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "city_from")
     private String cityFrom;
 
+    @Column(name = "city_to")
     private String cityTo;
 
     private Long daysToDeliver;
 
-    private BigDecimal priceInCents;
+    private Money priceInCents;
 
     @OneToMany(mappedBy = "destination")
     private List<Order> orders = new ArrayList<>();
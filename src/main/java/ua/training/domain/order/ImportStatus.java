@@ -0,0 +1,8 @@
+package ua.training.domain.order;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -15,9 +15,20 @@ import java.time.LocalDate;
 @Builder
 
 @Entity
-@Table(name = "orders")
+@NamedEntityGraph(name = Order.LISTING_GRAPH,
+        attributeNodes = {@NamedAttributeNode("orderType"), @NamedAttributeNode("destination"),
+                @NamedAttributeNode("owner"), @NamedAttributeNode(value = "receipt", subgraph = "receipt")},
+        subgraphs = @NamedSubgraph(name = "receipt",
+                attributeNodes = {@NamedAttributeNode("order"), @NamedAttributeNode("user"),
+                        @NamedAttributeNode("bankCard")}))
+@Table(name = "orders",
+        indexes = {@Index(name = "idx_orders_owner_id", columnList = "owner_id, id"),
+                @Index(name = "idx_orders_owner_status_id", columnList = "owner_id, status, id"),
+                @Index(name = "idx_orders_status_id", columnList = "status, id")})
 public class Order {
 
+    public static final String LISTING_GRAPH = "Order.listing";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -25,6 +36,7 @@ public class Order {
     private String description;
 
     @ManyToOne
+    @JoinColumn(name = "order_type_id")
     private OrderType orderType;
 
     @ManyToOne
@@ -35,16 +47,20 @@ public class Order {
 
     @JsonIgnore
     @ManyToOne
+    @JoinColumn(name = "destination_id")
     private Destination destination;
 
     @Enumerated(value = EnumType.STRING)
     private Status status;
 
+    @Column(name = "shipping_date")
     private LocalDate shippingDate;
 
+    @Column(name = "delivery_date")
     private LocalDate deliveryDate;
 
-    private BigDecimal shippingPriceInCents;
+    @Column(name = "shipping_price_in_cents")
+    private Money shippingPriceInCents;
 
     @JsonIgnore
     @OneToOne(optional = true, fetch = FetchType.EAGER)
@@ -53,7 +69,6 @@ public class Order {
 
     public Order saveOrder(User user){
         this.setOwner(user);
-        user.getOrders().add(this);
         return this;
     }
 }
@@ -4,7 +4,6 @@ package ua.training.domain.order;
 import lombok.*;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 
 @Getter
 @Setter
@@ -22,6 +21,6 @@ public class OrderType {
 
     private String name;
 
-    private BigDecimal priceInCents;
+    private Money priceInCents;
 
 }
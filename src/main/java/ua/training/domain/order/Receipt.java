@@ -6,7 +6,6 @@ import ua.training.domain.user.BankCard;
 import ua.training.domain.user.User;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Getter
@@ -16,9 +15,19 @@ import java.time.LocalDate;
 @Builder
 
 @Entity
-@Table(name = "receipts")
+@NamedEntityGraph(name = Receipt.LISTING_GRAPH,
+        attributeNodes = {@NamedAttributeNode(value = "order", subgraph = "order"), @NamedAttributeNode("user"),
+                @NamedAttributeNode("bankCard")},
+        subgraphs = @NamedSubgraph(name = "order",
+                attributeNodes = {@NamedAttributeNode("orderType"), @NamedAttributeNode("destination"),
+                        @NamedAttributeNode("owner")}))
+@Table(name = "receipts",
+        indexes = {@Index(name = "idx_receipts_creation_date", columnList = "creation_date"),
+                @Index(name = "idx_receipts_user_creation_date", columnList = "user_id, creation_date")})
 public class Receipt {
 
+    public static final String LISTING_GRAPH = "Receipt.listing";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,15 +35,17 @@ public class Receipt {
     @OneToOne(mappedBy = "receipt")
     private Order order;
 
-    private BigDecimal priceInCents;
+    private Money priceInCents;
 
     @ManyToOne
+    @JoinColumn(name = "user_id")
     private User user;
 
     @JsonIgnore
     @ManyToOne
     private BankCard bankCard;
 
+    @Column(name = "creation_date")
     private LocalDate creationDate ;
 
 }
@@ -0,0 +1,33 @@
+package ua.training.domain.order;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "receipt_monthly_rollup",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"creation_year", "creation_month"})})
+public class ReceiptMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "creation_year")
+    private Integer creationYear;
+
+    @Column(name = "creation_month")
+    private Integer creationMonth;
+
+    private Long ordersNumber;
+
+    private BigDecimal earnings;
+
+}
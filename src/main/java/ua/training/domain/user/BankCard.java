@@ -2,10 +2,10 @@ package ua.training.domain.user;
 
 
 import lombok.*;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Receipt;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,7 +30,7 @@ public class BankCard {
 
     private Long ccv;
 
-    private BigDecimal balance = BigDecimal.ZERO;
+    private Money balance = Money.ZERO;
 
     @ManyToMany(mappedBy = "cards", cascade = CascadeType.REFRESH)
     private List<User> users = new ArrayList<>();
@@ -0,0 +1,15 @@
+package ua.training.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class OrderDeletedEvent {
+
+    private final Long orderId;
+
+    private final String ownerLogin;
+}
@@ -0,0 +1,20 @@
+package ua.training.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ua.training.domain.order.Status;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class OrderStatusChangedEvent {
+
+    private final Long orderId;
+
+    private final String ownerLogin;
+
+    private final Status previousStatus;
+
+    private final Status status;
+}
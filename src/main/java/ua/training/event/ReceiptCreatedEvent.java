@@ -0,0 +1,22 @@
+package ua.training.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class ReceiptCreatedEvent {
+
+    private final Long receiptId;
+
+    private final String login;
+
+    private final LocalDate creationDate;
+
+    private final BigDecimal priceInCents;
+}
@@ -0,0 +1,21 @@
+package ua.training.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.OrderType;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString(of = "version")
+public class ReferenceDataChangedEvent {
+
+    private final long version;
+
+    private final List<Destination> destinations;
+
+    private final List<OrderType> orderTypes;
+}
@@ -0,0 +1,13 @@
+package ua.training.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class StatisticsRebuiltEvent {
+
+    private final int months;
+}
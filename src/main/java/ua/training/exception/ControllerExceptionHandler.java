@@ -23,7 +23,8 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler({OrderNotFoundException.class, UserNotFoundException.class ,OrderReceiptNotFoundException.class,
-            UserNotFoundException.class, DestinationNotFoundException.class, OrderTypeNotFoundException.class})
+            UserNotFoundException.class, DestinationNotFoundException.class, OrderTypeNotFoundException.class,
+            ImportJobNotFoundException.class})
     public ResponseEntity<Object> handleNotFoundException(Exception ex){
 
         log.error("notFoundException");
@@ -60,6 +61,30 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Object> handleInvalidRequestException(InvalidRequestException ex){
+
+        log.error("InvalidRequestException");
+
+        String error = "invalid request";
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, ex.getLocalizedMessage(), error);
+
+        return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(TooManyConnectionsException.class)
+    public ResponseEntity<Object> handleTooManyConnectionsException(TooManyConnectionsException ex){
+
+        log.error("TooManyConnectionsException");
+
+        String error = "too many connections";
+        ApiError apiError = new ApiError(HttpStatus.SERVICE_UNAVAILABLE, ex.getLocalizedMessage(), error);
+
+        return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
+    }
+
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler({UserAlreadyExistsException.class, RegException.class})
     public ResponseEntity<Object> handleRegistrationException(Exception ex){
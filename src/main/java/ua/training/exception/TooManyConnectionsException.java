@@ -0,0 +1,12 @@
+package ua.training.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TooManyConnectionsException extends RuntimeException {
+
+    public TooManyConnectionsException(String message) {
+        super(message);
+    }
+}
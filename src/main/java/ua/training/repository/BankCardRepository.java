@@ -1,6 +1,9 @@
 package ua.training.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ua.training.domain.user.BankCard;
 import ua.training.domain.user.User;
 
@@ -13,4 +16,10 @@ public interface BankCardRepository extends JpaRepository<BankCard, Long> {
 
     Optional<BankCard> findBankCardByIdAndExpMonthAndExpYearAndCcv(Long id, Long expMonth, Long expYear, Long cvv);
 
+    boolean existsByIdAndUsers_Id(Long cardId, Long userId);
+
+    @Modifying
+    @Query(value = "insert into user_card (user_id, card_id) values (:userId, :cardId)", nativeQuery = true)
+    void addUserCard(@Param("userId") Long userId, @Param("cardId") Long cardId);
+
 }
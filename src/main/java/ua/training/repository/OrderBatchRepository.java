@@ -0,0 +1,134 @@
+package ua.training.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.training.domain.order.Order;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class OrderBatchRepository {
+
+    static final String INSERT_ORDER = "insert into orders (description, order_type_id, owner_id, weight, " +
+            "destination_id, status, shipping_date, delivery_date, shipping_price_in_cents) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${orders.bulk.batch-size:500}")
+    private int BATCH_SIZE;
+
+    public OrderBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<Integer, DataIntegrityViolationException> insertAll(List<Order> orders) {
+        return jdbcTemplate.execute((ConnectionCallback<Map<Integer, DataIntegrityViolationException>>) connection -> {
+            Map<Integer, DataIntegrityViolationException> failures = new LinkedHashMap<>();
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ORDER,
+                    Statement.RETURN_GENERATED_KEYS)) {
+
+                for (int from = 0; from < orders.size(); from += BATCH_SIZE) {
+                    List<Order> batch = orders.subList(from, Math.min(from + BATCH_SIZE, orders.size()));
+
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        insertBatch(statement, batch);
+                        connection.releaseSavepoint(savepoint);
+                    } catch (SQLException e) {
+                        connection.rollback(savepoint);
+                        statement.clearBatch();
+                        batch.forEach(order -> order.setId(null));
+
+                        for (int index = from; index < from + batch.size(); index++) {
+                            insertOne(connection, statement, orders.get(index), index, failures);
+                        }
+                    }
+                }
+            }
+            return failures;
+        });
+    }
+
+    private void insertBatch(PreparedStatement statement, List<Order> batch) throws SQLException {
+
+        for (Order order : batch) {
+            bind(statement, order);
+            statement.addBatch();
+        }
+        statement.executeBatch();
+
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            for (Order order : batch) {
+                if (!keys.next()) {
+                    throw new SQLException("no generated key for batched order insert");
+                }
+                order.setId(keys.getLong(1));
+            }
+        }
+    }
+
+    private void insertOne(Connection connection, PreparedStatement statement, Order order, int index,
+                           Map<Integer, DataIntegrityViolationException> failures) throws SQLException {
+
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            bind(statement, order);
+            statement.executeUpdate();
+
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("no generated key for order insert");
+                }
+                order.setId(keys.getLong(1));
+            }
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            connection.rollback(savepoint);
+
+            DataAccessException translated = jdbcTemplate.getExceptionTranslator().translate("insert order",
+                    INSERT_ORDER, e);
+            if (!(translated instanceof DataIntegrityViolationException)) {
+                throw e;
+            }
+            failures.put(index, (DataIntegrityViolationException) translated);
+        }
+    }
+
+    private void bind(PreparedStatement statement, Order order) throws SQLException {
+        statement.setString(1, order.getDescription());
+        statement.setLong(2, order.getOrderType().getId());
+        statement.setLong(3, order.getOwner().getId());
+        statement.setBigDecimal(4, order.getWeight());
+        statement.setLong(5, order.getDestination().getId());
+        statement.setString(6, order.getStatus().name());
+        setDate(statement, 7, order.getShippingDate());
+        setDate(statement, 8, order.getDeliveryDate());
+        statement.setBigDecimal(9, order.getShippingPriceInCents() == null ? null
+                : order.getShippingPriceInCents().toBigDecimal());
+    }
+
+    private void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            statement.setNull(index, Types.DATE);
+        } else {
+            statement.setDate(index, Date.valueOf(date));
+        }
+    }
+}
@@ -1,20 +1,77 @@
 package ua.training.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ua.training.domain.order.Order;
 import ua.training.domain.order.Status;
+import ua.training.repository.projection.OrderDescription;
+import ua.training.repository.projection.OrderListRow;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    List<Order> findOrderByOwner_Login(String login);
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
+    String ORDER_LIST_ROWS_BY_STATUS = "select new ua.training.repository.projection.OrderListRow(" +
+            "o.id, o.description, o.weight, o.status, o.shippingDate, o.deliveryDate, o.shippingPriceInCents, " +
+            "t.id, t.name, t.priceInCents, " +
+            "d.id, d.cityFrom, d.cityTo, d.daysToDeliver, d.priceInCents, " +
+            "r.id, r.priceInCents, u.id, b.id, r.creationDate) " +
+            "from Order o left join o.orderType t left join o.destination d " +
+            "left join o.receipt r left join r.user u left join r.bankCard b " +
+            "where o.status = :status";
+
+    @EntityGraph(Order.LISTING_GRAPH)
+    List<Order> findByOwner_LoginAndStatusNot(String login, Status status);
+
+    @EntityGraph(Order.LISTING_GRAPH)
     List<Order> findByStatusAndOwner_Login(Status status, String login);
 
+    @EntityGraph(Order.LISTING_GRAPH)
+    List<Order> findByOwner_LoginAndStatusInAndIdGreaterThanOrderByIdAsc(String login, Collection<Status> statuses,
+                                                                         Long after, Pageable pageable);
+
+    @EntityGraph(Order.LISTING_GRAPH)
     List<Order> findOrderByStatus(Status status);
 
+    @Query(ORDER_LIST_ROWS_BY_STATUS + " order by o.id")
+    List<OrderListRow> findOrderListRowsByStatus(@Param("status") Status status);
+
+    @Query(value = ORDER_LIST_ROWS_BY_STATUS,
+            countQuery = "select count (o) from Order o where o.status = :status")
+    Page<OrderListRow> findOrderListRowsByStatus(@Param("status") Status status, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(ORDER_LIST_ROWS_BY_STATUS + " order by o.id")
+    Stream<OrderListRow> streamOrderListRowsByStatus(@Param("status") Status status);
+
     Optional<Order> findByIdAndOwner_Login(Long orderId, String login);
 
+    @EntityGraph(Order.LISTING_GRAPH)
+    List<Order> findByIdIn(Collection<Long> ids);
+
+    @Query("select o.id as id, o.description as description from Order o "
+            + "where o.id in :ids and o.description is not null")
+    List<OrderDescription> findOrderDescriptionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select o.id as id, o.description as description from Order o where o.description is not null")
+    Stream<OrderDescription> streamOrderDescriptions();
+
+    @EntityGraph(Order.LISTING_GRAPH)
+    @Override
+    Page<Order> findAll(Specification<Order> specification, Pageable pageable);
+
 }
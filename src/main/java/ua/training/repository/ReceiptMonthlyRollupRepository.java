@@ -0,0 +1,23 @@
+package ua.training.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.training.domain.order.ReceiptMonthlyRollup;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ReceiptMonthlyRollupRepository extends JpaRepository<ReceiptMonthlyRollup, Long> {
+
+    List<ReceiptMonthlyRollup> findByCreationYear(Integer year);
+
+    @Modifying
+    @Query(value = "insert into receipt_monthly_rollup (creation_year, creation_month, orders_number, earnings) " +
+            "values (:year, :month, 1, :amount) " +
+            "on duplicate key update orders_number = orders_number + 1, earnings = earnings + :amount",
+            nativeQuery = true)
+    void addReceipt(@Param("year") int year, @Param("month") int month, @Param("amount") BigDecimal amount);
+
+}
@@ -1,27 +1,93 @@
 package ua.training.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ua.training.api.dto.ReceiptDto;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Receipt;
+import ua.training.repository.projection.DailyReceiptStatistics;
+import ua.training.repository.projection.MonthlyReceiptStatistics;
+import ua.training.repository.projection.OrderTypeRevenueStatistics;
+import ua.training.repository.projection.RouteRevenueStatistics;
 
-import java.math.BigDecimal;
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
 
+    @EntityGraph(Receipt.LISTING_GRAPH)
+    @Override
+    List<Receipt> findAll();
+
+    @EntityGraph(Receipt.LISTING_GRAPH)
     List<Receipt> findAllByUser_Login(String login);
 
-    @Query("select count (e) from Receipt e where year(e.creationDate) = :year ")
-    Long ordersByCreationYear( @Param("year") int year);
+    @Query("select new ua.training.api.dto.ReceiptDto(e.id, o.id, e.priceInCents, u.id, b.id, e.creationDate) " +
+            "from Receipt e left join e.order o left join e.user u left join e.bankCard b order by e.id")
+    List<ReceiptDto> findAllReceiptDto();
+
+    @Query("select new ua.training.api.dto.ReceiptDto(e.id, o.id, e.priceInCents, u.id, b.id, e.creationDate) " +
+            "from Receipt e left join e.order o join e.user u left join e.bankCard b " +
+            "where u.login = :login order by e.id")
+    List<ReceiptDto> findReceiptDtoByUser_Login(@Param("login") String login);
+
+    @Query("select count (e) from Receipt e where e.creationDate >= :from and e.creationDate < :to")
+    Long ordersByCreationDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select sum (e.priceInCents) from Receipt e where e.creationDate >= :from and e.creationDate < :to")
+    Money earningsByCreationDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    default Long ordersByCreationYear(int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        return ordersByCreationDateBetween(from, from.plusYears(1));
+    }
+
+    default Long ordersByCreationMonthsAndYear(int month, int year) {
+        LocalDate from = LocalDate.of(year, month, 1);
+        return ordersByCreationDateBetween(from, from.plusMonths(1));
+    }
+
+    default Money earningsByCreationYear(int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        return earningsByCreationDateBetween(from, from.plusYears(1));
+    }
+
+    default Money earningsByCreationMonthsAndYear(int month, int year) {
+        LocalDate from = LocalDate.of(year, month, 1);
+        return earningsByCreationDateBetween(from, from.plusMonths(1));
+    }
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select e.creationDate as creationDate, count(e) as ordersNumber, sum(e.priceInCents) as earnings " +
+            "from Receipt e where e.creationDate >= :from and e.creationDate < :to " +
+            "group by e.creationDate order by e.creationDate")
+    Stream<DailyReceiptStatistics> streamStatisticsByCreationDateBetween(@Param("from") LocalDate from,
+                                                                          @Param("to") LocalDate to);
 
-    @Query("select count (e) from Receipt e where month(e.creationDate) = :month and year(e.creationDate) = :year ")
-    Long ordersByCreationMonthsAndYear(@Param("month") int month, @Param("year") int year);
+    @Query("select d.cityFrom as cityFrom, d.cityTo as cityTo, count(e) as ordersNumber, " +
+            "sum(e.priceInCents) as earnings " +
+            "from Receipt e join e.order o join o.destination d " +
+            "where e.creationDate >= :from and e.creationDate < :to " +
+            "group by d.cityFrom, d.cityTo order by sum(e.priceInCents) desc")
+    List<RouteRevenueStatistics> statisticsByRoute(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
-    @Query("select sum (e.priceInCents) from Receipt e where year(e.creationDate) = :year ")
-    BigDecimal earningsByCreationYear(@Param("year") int year);
+    @Query("select t.id as orderTypeId, t.name as orderTypeName, count(e) as ordersNumber, " +
+            "sum(e.priceInCents) as earnings " +
+            "from Receipt e join e.order o join o.orderType t " +
+            "where e.creationDate >= :from and e.creationDate < :to " +
+            "group by t.id, t.name order by sum(e.priceInCents) desc")
+    List<OrderTypeRevenueStatistics> statisticsByOrderType(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
-    @Query("select sum (e.priceInCents) from Receipt e where month(e.creationDate) = :month and year(e.creationDate) = :year ")
-    BigDecimal earningsByCreationMonthsAndYear(@Param("month") int month, @Param("year") int year);
+    @Query("select year(e.creationDate) as creationYear, month(e.creationDate) as creationMonth, " +
+            "count(e) as ordersNumber, sum(e.priceInCents) as earnings " +
+            "from Receipt e group by year(e.creationDate), month(e.creationDate)")
+    List<MonthlyReceiptStatistics> statisticsByCreationMonth();
 
 }
@@ -1,6 +1,8 @@
 package ua.training.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ua.training.api.dto.UserDto;
 import ua.training.domain.user.User;
 
 import java.util.List;
@@ -14,4 +16,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAllByLoginLike(String login);
 
+    @Query("select new ua.training.api.dto.UserDto(u.id, u.login, u.password, u.firstName, u.lastName, u.email, " +
+            "u.role) from User u order by u.id")
+    List<UserDto> findAllUserDto();
+
 }
@@ -0,0 +1,14 @@
+package ua.training.repository.projection;
+
+import ua.training.domain.order.Money;
+
+import java.time.LocalDate;
+
+public interface DailyReceiptStatistics {
+
+    LocalDate getCreationDate();
+
+    Long getOrdersNumber();
+
+    Money getEarnings();
+}
@@ -0,0 +1,14 @@
+package ua.training.repository.projection;
+
+import ua.training.domain.order.Money;
+
+public interface MonthlyReceiptStatistics {
+
+    Integer getCreationYear();
+
+    Integer getCreationMonth();
+
+    Long getOrdersNumber();
+
+    Money getEarnings();
+}
@@ -0,0 +1,8 @@
+package ua.training.repository.projection;
+
+public interface OrderDescription {
+
+    Long getId();
+
+    String getDescription();
+}
@@ -0,0 +1,55 @@
+package ua.training.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.Status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class OrderListRow {
+
+    private final Long id;
+
+    private final String description;
+
+    private final BigDecimal weight;
+
+    private final Status status;
+
+    private final LocalDate shippingDate;
+
+    private final LocalDate deliveryDate;
+
+    private final Money shippingPriceInCents;
+
+    private final Long orderTypeId;
+
+    private final String orderTypeName;
+
+    private final Money orderTypePriceInCents;
+
+    private final Long destinationId;
+
+    private final String destinationCityFrom;
+
+    private final String destinationCityTo;
+
+    private final Long destinationDaysToDeliver;
+
+    private final Money destinationPriceInCents;
+
+    private final Long receiptId;
+
+    private final Money receiptPriceInCents;
+
+    private final Long receiptUserId;
+
+    private final Long receiptBankCardId;
+
+    private final LocalDate receiptCreationDate;
+
+}
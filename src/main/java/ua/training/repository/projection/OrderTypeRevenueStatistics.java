@@ -0,0 +1,14 @@
+package ua.training.repository.projection;
+
+import ua.training.domain.order.Money;
+
+public interface OrderTypeRevenueStatistics {
+
+    Long getOrderTypeId();
+
+    String getOrderTypeName();
+
+    Long getOrdersNumber();
+
+    Money getEarnings();
+}
@@ -0,0 +1,14 @@
+package ua.training.repository.projection;
+
+import ua.training.domain.order.Money;
+
+public interface RouteRevenueStatistics {
+
+    String getCityFrom();
+
+    String getCityTo();
+
+    Long getOrdersNumber();
+
+    Money getEarnings();
+}
@@ -0,0 +1,72 @@
+package ua.training.repository.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.Order;
+import ua.training.domain.order.Status;
+
+import java.time.LocalDate;
+
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> matches(OrderSearchDto search, String ownerLogin) {
+        return Specification.where(ownerLogin(ownerLogin))
+                .and(status(search.getStatus()))
+                .and(orderType(search.getOrderTypeId()))
+                .and(cityFrom(search.getCityFrom()))
+                .and(cityTo(search.getCityTo()))
+                .and(shippingDateBetween(search.getShippingDateFrom(), search.getShippingDateTo()))
+                .and(deliveryDateBetween(search.getDeliveryDateFrom(), search.getDeliveryDateTo()))
+                .and(priceBetween(Money.of(search.getPriceFrom()), Money.of(search.getPriceTo())));
+    }
+
+    public static Specification<Order> ownerLogin(String login) {
+        return login == null ? null : (root, query, builder) ->
+                builder.equal(root.get("owner").get("login"), login);
+    }
+
+    public static Specification<Order> status(Status status) {
+        return status == null ? null : (root, query, builder) ->
+                builder.equal(root.get("status"), status);
+    }
+
+    public static Specification<Order> orderType(Long orderTypeId) {
+        return orderTypeId == null ? null : (root, query, builder) ->
+                builder.equal(root.get("orderType").get("id"), orderTypeId);
+    }
+
+    public static Specification<Order> cityFrom(String city) {
+        return city == null || city.isEmpty() ? null : (root, query, builder) ->
+                builder.equal(root.get("destination").get("cityFrom"), city);
+    }
+
+    public static Specification<Order> cityTo(String city) {
+        return city == null || city.isEmpty() ? null : (root, query, builder) ->
+                builder.equal(root.get("destination").get("cityTo"), city);
+    }
+
+    public static Specification<Order> shippingDateBetween(LocalDate from, LocalDate to) {
+        return Specification.<Order>where(from == null ? null : (root, query, builder) ->
+                builder.greaterThanOrEqualTo(root.<LocalDate>get("shippingDate"), from))
+                .and(to == null ? null : (root, query, builder) ->
+                        builder.lessThanOrEqualTo(root.<LocalDate>get("shippingDate"), to));
+    }
+
+    public static Specification<Order> deliveryDateBetween(LocalDate from, LocalDate to) {
+        return Specification.<Order>where(from == null ? null : (root, query, builder) ->
+                builder.greaterThanOrEqualTo(root.<LocalDate>get("deliveryDate"), from))
+                .and(to == null ? null : (root, query, builder) ->
+                        builder.lessThanOrEqualTo(root.<LocalDate>get("deliveryDate"), to));
+    }
+
+    public static Specification<Order> priceBetween(Money from, Money to) {
+        return Specification.<Order>where(from == null ? null : (root, query, builder) ->
+                builder.greaterThanOrEqualTo(root.<Money>get("shippingPriceInCents"), from))
+                .and(to == null ? null : (root, query, builder) ->
+                        builder.lessThanOrEqualTo(root.<Money>get("shippingPriceInCents"), to));
+    }
+}
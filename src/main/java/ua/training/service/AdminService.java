@@ -12,4 +12,6 @@ public interface AdminService {
     void receiveOrder(Long orderId) throws OrderNotFoundException;
 
     StatisticsDto createStatisticsDto();
+
+    void rebuildStatistics();
 }
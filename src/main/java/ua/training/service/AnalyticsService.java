@@ -0,0 +1,20 @@
+package ua.training.service;
+
+import ua.training.api.dto.OrderTypeStatisticsDto;
+import ua.training.api.dto.RouteStatisticsDto;
+import ua.training.api.dto.StatisticsBucketDto;
+import ua.training.exception.InvalidRequestException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnalyticsService {
+
+    List<StatisticsBucketDto> createRevenueStatistics(LocalDate from, LocalDate to, Granularity granularity)
+            throws InvalidRequestException;
+
+    List<RouteStatisticsDto> createRouteStatistics(LocalDate from, LocalDate to) throws InvalidRequestException;
+
+    List<OrderTypeStatisticsDto> createOrderTypeStatistics(LocalDate from, LocalDate to)
+            throws InvalidRequestException;
+}
@@ -2,11 +2,11 @@ package ua.training.service;
 
 import ua.training.api.dto.BankCardDto;
 import ua.training.api.dto.ReceiptDto;
+import ua.training.domain.order.Money;
 import ua.training.domain.user.BankCard;
 import ua.training.exception.BankCardException;
 import ua.training.exception.OrderNotFoundException;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 public interface BankCardService {
@@ -19,7 +19,7 @@ public interface BankCardService {
 
     BankCardDto deleteBankCardConnectionWithUser(Long bankId, String login) throws BankCardException;
 
-    void replenishBankCard(Long bankId, BigDecimal balance) throws BankCardException;
+    void replenishBankCard(Long bankId, Money balance) throws BankCardException;
 
     List<BankCardDto> getAllUserBankCards(String login);
 
@@ -0,0 +1,16 @@
+package ua.training.service;
+
+import ua.training.api.dto.BulkOrderResultDto;
+import ua.training.api.dto.OrderDto;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.OrderCreateException;
+import ua.training.exception.UserNotFoundException;
+
+import java.util.List;
+
+public interface BulkOrderService {
+
+    BulkOrderResultDto createOrders(List<OrderDto> orderDtos, String login)
+            throws InvalidRequestException, OrderCreateException, UserNotFoundException;
+
+}
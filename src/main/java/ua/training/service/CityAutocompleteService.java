@@ -0,0 +1,9 @@
+package ua.training.service;
+
+import java.util.List;
+
+public interface CityAutocompleteService {
+
+    List<String> complete(String prefix, String direction, Integer limit);
+
+}
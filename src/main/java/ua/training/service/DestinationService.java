@@ -1,6 +1,7 @@
 package ua.training.service;
 
 import ua.training.api.dto.DestinationDto;
+import ua.training.api.dto.RoutePlanDto;
 import ua.training.domain.order.Destination;
 import ua.training.exception.DestinationNotFoundException;
 
@@ -12,4 +13,6 @@ public interface DestinationService {
 
     Destination getDestination(String cityFrom, String cityTo) throws DestinationNotFoundException;
 
+    RoutePlanDto getRoutePlan(String cityFrom, String cityTo) throws DestinationNotFoundException;
+
 }
@@ -0,0 +1,14 @@
+package ua.training.service;
+
+import org.springframework.web.multipart.MultipartFile;
+import ua.training.api.dto.ImportJobDto;
+import ua.training.exception.ImportJobNotFoundException;
+import ua.training.exception.InvalidRequestException;
+
+public interface OrderImportService {
+
+    ImportJobDto startImport(MultipartFile file, String login) throws InvalidRequestException;
+
+    ImportJobDto getImportJob(String jobId, String login) throws ImportJobNotFoundException;
+
+}
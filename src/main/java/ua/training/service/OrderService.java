@@ -1,12 +1,21 @@
 package ua.training.service;
 
+import org.springframework.data.domain.Sort;
+import ua.training.api.dto.KeysetPageDto;
 import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.api.dto.PageDto;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Order;
+import ua.training.domain.order.Status;
+import ua.training.exception.InvalidRequestException;
 import ua.training.exception.OrderCreateException;
 import ua.training.exception.OrderNotFoundException;
 import ua.training.exception.UserNotFoundException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
@@ -18,6 +27,9 @@ public interface OrderService {
 
     List<OrderDto> findAllDeliveredUserOrders(String login);
 
+    KeysetPageDto<OrderDto> findUserOrdersPage(String login, Collection<Status> statuses, Long after, int size)
+            throws InvalidRequestException;
+
     OrderDto createOrder(OrderDto orderDTO, String login) throws OrderCreateException, UserNotFoundException;
 
     OrderDto getOrderDtoById(Long id) throws OrderNotFoundException;
@@ -30,8 +42,18 @@ public interface OrderService {
 
     List<OrderDto> findAllDeliveredOrdersDto();
 
+    PageDto<OrderDto> findOrdersPageByStatus(Status status, int page, int size, String sort, Sort.Direction direction)
+            throws InvalidRequestException;
+
+    PageDto<OrderDto> searchOrders(OrderSearchDto search, String login, int page, int size, String sort,
+                                   Sort.Direction direction) throws InvalidRequestException;
+
+    void streamOrdersByStatus(Status status, Consumer<OrderDto> consumer);
+
     Order findOrderById(Long orderId) throws OrderNotFoundException;
 
+    Money calculatePrice(Order order);
+
     OrderDto moveOrderToArchive(Long orderId) throws OrderNotFoundException;
 
     void deleteOrderById(Long orderId) throws OrderNotFoundException;
@@ -0,0 +1,12 @@
+package ua.training.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.training.exception.TooManyConnectionsException;
+
+public interface OrderStatusStreamService {
+
+    SseEmitter subscribeUser(String login, Long lastEventId) throws TooManyConnectionsException;
+
+    SseEmitter subscribeAdmin(Long lastEventId) throws TooManyConnectionsException;
+
+}
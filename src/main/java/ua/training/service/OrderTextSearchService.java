@@ -0,0 +1,13 @@
+package ua.training.service;
+
+import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.PageDto;
+import ua.training.exception.InvalidRequestException;
+
+public interface OrderTextSearchService {
+
+    PageDto<OrderDto> search(String text, int page, int size) throws InvalidRequestException;
+
+    long rebuildIndex();
+
+}
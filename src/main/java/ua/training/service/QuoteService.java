@@ -0,0 +1,18 @@
+package ua.training.service;
+
+import ua.training.api.dto.QuoteDto;
+import ua.training.api.dto.QuoteRequestDto;
+import ua.training.exception.DestinationNotFoundException;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.OrderTypeNotFoundException;
+
+import java.util.List;
+
+public interface QuoteService {
+
+    QuoteDto quote(QuoteRequestDto quoteRequestDto)
+            throws InvalidRequestException, DestinationNotFoundException, OrderTypeNotFoundException;
+
+    List<QuoteDto> quoteAll(List<QuoteRequestDto> quoteRequestDtos) throws InvalidRequestException;
+
+}
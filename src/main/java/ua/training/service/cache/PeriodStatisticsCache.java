@@ -0,0 +1,77 @@
+package ua.training.service.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.training.event.ReceiptCreatedEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class PeriodStatisticsCache {
+
+    private final Cache<PeriodKey, List<?>> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public PeriodStatisticsCache(@Value("${statistics.cache.ttl-seconds:60}") long ttlSeconds,
+                                 @Value("${statistics.analytics.cache-size:256}") long maximumSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String report, LocalDate from, LocalDate to, Supplier<List<T>> loader) {
+        try {
+            return (List<T>) cache.get(new PeriodKey(generation.get(), report, from, to), loader::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReceiptCreated(ReceiptCreatedEvent event) {
+        invalidate();
+    }
+
+    @EqualsAndHashCode
+    private static class PeriodKey {
+
+        private final long generation;
+
+        private final String report;
+
+        private final LocalDate from;
+
+        private final LocalDate to;
+
+        PeriodKey(long generation, String report, LocalDate from, LocalDate to) {
+            this.generation = generation;
+            this.report = report;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ua.training.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import ua.training.api.dto.DestinationDto;
+import ua.training.api.dto.OrderTypeDto;
+import ua.training.api.mapper.DestinationMapper;
+import ua.training.api.mapper.OrderTypeMapper;
+import ua.training.event.ReferenceDataChangedEvent;
+import ua.training.service.DestinationService;
+import ua.training.service.OrderTypeService;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ReferenceDataJsonCache {
+
+    @Value("${reference-data.max-age-seconds:60}")
+    private long MAX_AGE_SECONDS;
+
+    private final OrderTypeService orderTypeService;
+    private final DestinationService destinationService;
+    private final OrderTypeMapper orderTypeMapper;
+    private final DestinationMapper destinationMapper;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataJsonCache(OrderTypeService orderTypeService, DestinationService destinationService,
+                                  OrderTypeMapper orderTypeMapper, DestinationMapper destinationMapper,
+                                  ObjectMapper objectMapper) {
+        this.orderTypeService = orderTypeService;
+        this.destinationService = destinationService;
+        this.orderTypeMapper = orderTypeMapper;
+        this.destinationMapper = destinationMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public synchronized void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+
+        snapshot = new Snapshot(
+                event.getOrderTypes().stream()
+                        .map(orderTypeMapper::orderTypeToOrderTypeDto)
+                        .collect(Collectors.toList()),
+                event.getDestinations().stream()
+                        .map(destinationMapper::destinationToDestinationDto)
+                        .collect(Collectors.toList()));
+        log.info("reference data json rebuilt for version " + event.getVersion());
+    }
+
+    public long getMaxAgeSeconds() {
+        return MAX_AGE_SECONDS;
+    }
+
+    public Entry getTypes() {
+        return snapshot().types;
+    }
+
+    public Entry getDestinationsFrom() {
+        return snapshot().destinationsFrom;
+    }
+
+    public Entry getDestinationsTo() {
+        return snapshot().destinationsTo;
+    }
+
+    private Snapshot snapshot() {
+
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = new Snapshot(orderTypeService.getAllOrderTypeDto(),
+                            destinationService.getAllDestinationDto());
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Entry entry(Object value) {
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            return new Entry(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        private final byte[] body;
+        private final String eTag;
+    }
+
+    private class Snapshot {
+
+        private final Entry types;
+        private final Entry destinationsFrom;
+        private final Entry destinationsTo;
+
+        Snapshot(List<OrderTypeDto> orderTypes, List<DestinationDto> destinations) {
+
+            types = entry(orderTypes);
+            destinationsFrom = entry(destinations.stream()
+                    .map(DestinationDto::getCityFrom)
+                    .distinct()
+                    .collect(Collectors.toList()));
+            destinationsTo = entry(destinations.stream()
+                    .map(DestinationDto::getCityTo)
+                    .distinct()
+                    .collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ua.training.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.OrderType;
+import ua.training.event.ReferenceDataChangedEvent;
+import ua.training.repository.DestinationRepository;
+import ua.training.repository.OrderTypeRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ReferenceDataWatcher {
+
+    private final DestinationRepository destinationRepository;
+    private final OrderTypeRepository orderTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private long version;
+    private List<List<Object>> rows;
+
+    public ReferenceDataWatcher(DestinationRepository destinationRepository, OrderTypeRepository orderTypeRepository,
+                                ApplicationEventPublisher eventPublisher) {
+        this.destinationRepository = destinationRepository;
+        this.orderTypeRepository = orderTypeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        check(true);
+    }
+
+    @Scheduled(initialDelayString = "${reference-data.poll-ms:60000}",
+            fixedDelayString = "${reference-data.poll-ms:60000}")
+    public void poll() {
+        check(false);
+    }
+
+    public long refresh() {
+        return check(true);
+    }
+
+    private synchronized long check(boolean force) {
+
+        List<Destination> destinations = Collections.unmodifiableList(destinationRepository.findAll(Sort.by("id")));
+        List<OrderType> orderTypes = Collections.unmodifiableList(orderTypeRepository.findAll(Sort.by("id")));
+
+        List<List<Object>> current = rows(destinations, orderTypes);
+        if (!force && current.equals(rows)) {
+            return version;
+        }
+
+        rows = current;
+        version++;
+        log.info("reference data version " + version + ": " + destinations.size() + " destinations, "
+                + orderTypes.size() + " order types");
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(version, destinations, orderTypes));
+        return version;
+    }
+
+    private List<List<Object>> rows(List<Destination> destinations, List<OrderType> orderTypes) {
+
+        List<List<Object>> rows = new ArrayList<>(destinations.size() + orderTypes.size());
+        for (Destination destination : destinations) {
+            rows.add(Arrays.asList(destination.getId(), destination.getCityFrom(), destination.getCityTo(),
+                    destination.getDaysToDeliver(), destination.getPriceInCents()));
+        }
+        for (OrderType orderType : orderTypes) {
+            rows.add(Arrays.asList(orderType.getId(), orderType.getName(), orderType.getPriceInCents()));
+        }
+        return rows;
+    }
+}
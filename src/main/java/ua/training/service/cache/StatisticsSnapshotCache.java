@@ -0,0 +1,103 @@
+package ua.training.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.training.api.dto.StatisticsDto;
+import ua.training.event.ReceiptCreatedEvent;
+import ua.training.event.StatisticsRebuiltEvent;
+
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class StatisticsSnapshotCache {
+
+    private final long ttlNanos;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public StatisticsSnapshotCache(@Value("${statistics.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public StatisticsDto get(Supplier<StatisticsDto> loader) {
+
+        while (true) {
+            Snapshot current = snapshot.get();
+            YearMonth period = YearMonth.now();
+
+            if (current != null && current.isValid(period, System.nanoTime())) {
+                return current.await();
+            }
+
+            Snapshot fresh = new Snapshot(period, System.nanoTime() + ttlNanos);
+
+            if (snapshot.compareAndSet(current, fresh)) {
+                return load(fresh, loader);
+            }
+        }
+    }
+
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReceiptCreated(ReceiptCreatedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatisticsRebuilt(StatisticsRebuiltEvent event) {
+        invalidate();
+    }
+
+    private StatisticsDto load(Snapshot fresh, Supplier<StatisticsDto> loader) {
+        try {
+            StatisticsDto statistics = loader.get();
+            fresh.value.complete(statistics);
+            return statistics;
+        } catch (RuntimeException e) {
+            snapshot.compareAndSet(fresh, null);
+            fresh.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static class Snapshot {
+
+        private final YearMonth period;
+
+        private final long expiresAt;
+
+        private final CompletableFuture<StatisticsDto> value = new CompletableFuture<>();
+
+        Snapshot(YearMonth period, long expiresAt) {
+            this.period = period;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isValid(YearMonth period, long now) {
+            return this.period.equals(period) && now - expiresAt < 0;
+        }
+
+        StatisticsDto await() {
+            try {
+                return value.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
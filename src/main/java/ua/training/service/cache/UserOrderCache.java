@@ -0,0 +1,90 @@
+package ua.training.service.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.training.api.dto.CacheStatisticsDto;
+import ua.training.api.dto.OrderDto;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class UserOrderCache {
+
+    private final Cache<String, Cache<String, Object>> cache;
+    private final long maximumEntriesPerUser;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public UserOrderCache(@Value("${orders.cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${orders.cache.max-users:10000}") long maximumUsers,
+                          @Value("${orders.cache.max-entries-per-user:64}") long maximumEntriesPerUser) {
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumUsers)
+                .recordStats()
+                .build();
+        this.maximumEntriesPerUser = maximumEntriesPerUser;
+    }
+
+    public List<OrderDto> getList(String login, String view, Supplier<List<OrderDto>> loader) {
+        return get(login, "list:" + view, () -> Collections.unmodifiableList(loader.get()));
+    }
+
+    public OrderDto getOrder(String login, Long orderId, Supplier<OrderDto> loader) {
+        return get(login, "order:" + orderId, loader);
+    }
+
+    public void invalidate(String login) {
+        if (login != null) {
+            cache.invalidate(login);
+            invalidations.increment();
+        }
+    }
+
+    public CacheStatisticsDto statistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+
+        return CacheStatisticsDto.builder()
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(requestCount == 0 ? 1.0 : (double) hitCount / requestCount)
+                .invalidations(invalidations.sum())
+                .evictions(cache.stats().evictionCount())
+                .users(cache.size())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String login, String key, Supplier<T> loader) {
+        try {
+            Cache<String, Object> userCache = cache.get(login, () -> CacheBuilder.newBuilder()
+                    .maximumSize(maximumEntriesPerUser)
+                    .build());
+
+            Object cached = userCache.getIfPresent(key);
+            if (cached != null) {
+                hits.increment();
+                return (T) cached;
+            }
+            misses.increment();
+            return (T) userCache.get(key, loader::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
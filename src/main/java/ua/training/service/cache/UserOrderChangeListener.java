@@ -0,0 +1,40 @@
+package ua.training.service.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.training.event.OrderDeletedEvent;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.event.ReceiptCreatedEvent;
+
+@Component
+public class UserOrderChangeListener {
+
+    private final UserOrderCache userOrderCache;
+    private final UserVersionTracker userVersionTracker;
+
+    public UserOrderChangeListener(UserOrderCache userOrderCache, UserVersionTracker userVersionTracker) {
+        this.userOrderCache = userOrderCache;
+        this.userVersionTracker = userVersionTracker;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        userOrdersChanged(event.getOwnerLogin());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderDeleted(OrderDeletedEvent event) {
+        userOrdersChanged(event.getOwnerLogin());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReceiptCreated(ReceiptCreatedEvent event) {
+        userOrdersChanged(event.getLogin());
+    }
+
+    private void userOrdersChanged(String login) {
+        userOrderCache.invalidate(login);
+        userVersionTracker.bump(login);
+    }
+}
@@ -0,0 +1,25 @@
+package ua.training.service.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class UserVersionTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong versions = new AtomicLong();
+    private final ConcurrentMap<String, Long> userVersions = new ConcurrentHashMap<>();
+
+    public String eTag(String login) {
+        return "\"" + epoch + "-" + userVersions.getOrDefault(login, 0L) + "\"";
+    }
+
+    public void bump(String login) {
+        if (login != null) {
+            userVersions.put(login, versions.incrementAndGet());
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package ua.training.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 import ua.training.api.dto.StatisticsDto;
 import ua.training.domain.order.Order;
+import ua.training.domain.order.ReceiptMonthlyRollup;
 import ua.training.domain.order.Status;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.event.StatisticsRebuiltEvent;
 import ua.training.exception.OrderNotFoundException;
 import ua.training.repository.OrderRepository;
+import ua.training.repository.ReceiptMonthlyRollupRepository;
 import ua.training.repository.ReceiptRepository;
 import ua.training.service.AdminService;
+import ua.training.service.cache.StatisticsSnapshotCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -21,10 +34,19 @@ public class AdminServiceImpl implements AdminService {
 
     private final OrderRepository orderRepository;
     private final ReceiptRepository receiptRepository;
-
-    public AdminServiceImpl(OrderRepository orderRepository, ReceiptRepository receiptRepository) {
+    private final ReceiptMonthlyRollupRepository receiptMonthlyRollupRepository;
+    private final StatisticsSnapshotCache statisticsSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AdminServiceImpl(OrderRepository orderRepository, ReceiptRepository receiptRepository,
+                            ReceiptMonthlyRollupRepository receiptMonthlyRollupRepository,
+                            StatisticsSnapshotCache statisticsSnapshotCache,
+                            ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
         this.receiptRepository = receiptRepository;
+        this.receiptMonthlyRollupRepository = receiptMonthlyRollupRepository;
+        this.statisticsSnapshotCache = statisticsSnapshotCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -43,6 +65,9 @@ public class AdminServiceImpl implements AdminService {
         order.setStatus(Status.SHIPPED);
 
         orderRepository.save(order);
+
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getOwner().getLogin(),
+                Status.PAID, Status.SHIPPED));
     }
 
     @Override
@@ -58,6 +83,9 @@ public class AdminServiceImpl implements AdminService {
         order.setStatus(Status.DELIVERED);
 
         orderRepository.save(order);
+
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getOwner().getLogin(),
+                Status.SHIPPED, Status.DELIVERED));
     }
 
     @Override
@@ -72,49 +100,72 @@ public class AdminServiceImpl implements AdminService {
         order.setStatus(Status.RECEIVED);
 
         orderRepository.save(order);
+
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getOwner().getLogin(),
+                Status.DELIVERED, Status.RECEIVED));
     }
 
     @Override
     public StatisticsDto createStatisticsDto() {
 
-        int year = LocalDate.now().getYear();
-        int month = LocalDate.now().getMonthValue();
-
-        BigDecimal earningsLastMonth = receiptRepository.earningsByCreationMonthsAndYear(month, year);
-        BigDecimal earningsYear = receiptRepository.earningsByCreationYear(year);
-        Long deliversNumber = receiptRepository.ordersByCreationMonthsAndYear(month, year);
-        Long deliversNumberYear = receiptRepository.ordersByCreationYear(year);
-
-        return StatisticsDto.builder()
-                .earningsLastMonth(earningsLastMonth)
-                .earningsYear(earningsYear)
-                .deliversNumber(deliversNumber)
-                .deliversNumberYear(deliversNumberYear)
-                .numberOfOrdersByForYear(getNumberOfOrdersByForYear(year))
-                .earningsOfOrdersByForYear(getEarningsOfOrdersByForYear(year))
-                .build();
+        return statisticsSnapshotCache.get(this::computeStatisticsDto);
     }
 
-    private Map<Integer, Long> getNumberOfOrdersByForYear(Integer year) {
+    private StatisticsDto computeStatisticsDto() {
 
-        Map<Integer, Long> statistic = new HashMap<>();
+        int year = LocalDate.now().getYear();
+        int month = LocalDate.now().getMonthValue();
+
+        Map<Integer, Long> numberOfOrdersByForYear = new TreeMap<>();
+        Map<Integer, BigDecimal> earningsOfOrdersByForYear = new TreeMap<>();
 
         for (int i = 1; i <= 12; i++) {
-            statistic.put(i, receiptRepository.ordersByCreationMonthsAndYear(i, year));
+            numberOfOrdersByForYear.put(i, 0L);
+            earningsOfOrdersByForYear.put(i, BigDecimal.ZERO);
         }
 
-        return statistic;
+        for (ReceiptMonthlyRollup rollup : receiptMonthlyRollupRepository.findByCreationYear(year)) {
+            numberOfOrdersByForYear.put(rollup.getCreationMonth(), rollup.getOrdersNumber());
+            earningsOfOrdersByForYear.put(rollup.getCreationMonth(), rollup.getEarnings());
+        }
+
+        return StatisticsDto.builder()
+                .earningsLastMonth(earningsOfOrdersByForYear.get(month))
+                .earningsYear(earningsOfOrdersByForYear.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                .deliversNumber(numberOfOrdersByForYear.get(month))
+                .deliversNumberYear(numberOfOrdersByForYear.values().stream().mapToLong(Long::longValue).sum())
+                .numberOfOrdersByForYear(Collections.unmodifiableMap(numberOfOrdersByForYear))
+                .earningsOfOrdersByForYear(Collections.unmodifiableMap(earningsOfOrdersByForYear))
+                .build();
     }
 
-    private Map<Integer, BigDecimal> getEarningsOfOrdersByForYear(Integer year) {
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Override
+    public void rebuildStatistics() {
+
+        List<ReceiptMonthlyRollup> rollups = receiptRepository.statisticsByCreationMonth().stream()
+                .map(statistics -> ReceiptMonthlyRollup.builder()
+                        .creationYear(statistics.getCreationYear())
+                        .creationMonth(statistics.getCreationMonth())
+                        .ordersNumber(statistics.getOrdersNumber())
+                        .earnings(statistics.getEarnings().toBigDecimal())
+                        .build())
+                .collect(Collectors.toList());
+
+        receiptMonthlyRollupRepository.deleteAllInBatch();
+        receiptMonthlyRollupRepository.saveAll(rollups);
+        eventPublisher.publishEvent(new StatisticsRebuiltEvent(rollups.size()));
+
+        log.info("statistics rollup rebuilt: " + rollups.size() + " months");
+    }
 
-        Map<Integer, BigDecimal> statistic = new HashMap<>();
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillStatistics() {
 
-        for (int i = 1; i <= 12; i++) {
-            statistic.put(i, receiptRepository.earningsByCreationMonthsAndYear(i, year));
+        if (receiptRepository.count() > 0 && receiptMonthlyRollupRepository.count() == 0) {
+            rebuildStatistics();
         }
-
-        return statistic;
     }
 
     private Order findOrderById(Long orderId){
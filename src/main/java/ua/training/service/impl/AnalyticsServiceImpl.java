@@ -0,0 +1,125 @@
+package ua.training.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.training.api.dto.OrderTypeStatisticsDto;
+import ua.training.api.dto.RouteStatisticsDto;
+import ua.training.api.dto.StatisticsBucketDto;
+import ua.training.domain.order.Money;
+import ua.training.exception.InvalidRequestException;
+import ua.training.repository.ReceiptRepository;
+import ua.training.repository.projection.DailyReceiptStatistics;
+import ua.training.service.AnalyticsService;
+import ua.training.service.Granularity;
+import ua.training.service.cache.PeriodStatisticsCache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final ReceiptRepository receiptRepository;
+    private final PeriodStatisticsCache periodStatisticsCache;
+
+    @Value("${statistics.analytics.max-periods:5000}")
+    private long MAX_PERIODS;
+
+    public AnalyticsServiceImpl(ReceiptRepository receiptRepository, PeriodStatisticsCache periodStatisticsCache) {
+        this.receiptRepository = receiptRepository;
+        this.periodStatisticsCache = periodStatisticsCache;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<StatisticsBucketDto> createRevenueStatistics(LocalDate from, LocalDate to, Granularity granularity)
+            throws InvalidRequestException {
+
+        checkRange(from, to);
+
+        long periods = granularity.periodsBetween(from, to);
+        if (periods > MAX_PERIODS) {
+            throw new InvalidRequestException("too many " + granularity + " periods: " + periods);
+        }
+
+        List<StatisticsBucketDto> buckets = new ArrayList<>((int) periods);
+
+        try (Stream<DailyReceiptStatistics> days = receiptRepository.streamStatisticsByCreationDateBetween(from, to)) {
+
+            Iterator<DailyReceiptStatistics> iterator = days.iterator();
+            DailyReceiptStatistics day = iterator.hasNext() ? iterator.next() : null;
+
+            for (LocalDate start = granularity.periodStart(from); start.isBefore(to);
+                 start = granularity.nextPeriodStart(start)) {
+
+                LocalDate end = granularity.nextPeriodStart(start);
+                long ordersNumber = 0;
+                Money earnings = Money.ZERO;
+
+                while (day != null && day.getCreationDate().isBefore(end)) {
+                    ordersNumber += day.getOrdersNumber();
+                    earnings = earnings.add(day.getEarnings());
+                    day = iterator.hasNext() ? iterator.next() : null;
+                }
+
+                buckets.add(StatisticsBucketDto.builder()
+                        .periodStart(start.isBefore(from) ? from : start)
+                        .periodEnd(end.isAfter(to) ? to : end)
+                        .ordersNumber(ordersNumber)
+                        .earnings(earnings.toBigDecimal())
+                        .build());
+            }
+        }
+
+        return buckets;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<RouteStatisticsDto> createRouteStatistics(LocalDate from, LocalDate to)
+            throws InvalidRequestException {
+
+        checkRange(from, to);
+
+        return periodStatisticsCache.get("routes", from, to, () ->
+                receiptRepository.statisticsByRoute(from, to).stream()
+                        .map(statistics -> RouteStatisticsDto.builder()
+                                .cityFrom(statistics.getCityFrom())
+                                .cityTo(statistics.getCityTo())
+                                .ordersNumber(statistics.getOrdersNumber())
+                                .earnings(statistics.getEarnings().toBigDecimal())
+                                .build())
+                        .collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<OrderTypeStatisticsDto> createOrderTypeStatistics(LocalDate from, LocalDate to)
+            throws InvalidRequestException {
+
+        checkRange(from, to);
+
+        return periodStatisticsCache.get("orderTypes", from, to, () ->
+                receiptRepository.statisticsByOrderType(from, to).stream()
+                        .map(statistics -> OrderTypeStatisticsDto.builder()
+                                .orderTypeId(statistics.getOrderTypeId())
+                                .name(statistics.getOrderTypeName())
+                                .ordersNumber(statistics.getOrdersNumber())
+                                .earnings(statistics.getEarnings().toBigDecimal())
+                                .build())
+                        .collect(Collectors.toList()));
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) throws InvalidRequestException {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("from=" + from + " must be before to=" + to);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ua.training.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
@@ -10,20 +11,23 @@ import org.springframework.transaction.annotation.Transactional;
 import ua.training.api.dto.BankCardDto;
 import ua.training.api.dto.ReceiptDto;
 import ua.training.api.mapper.BankCardMapper;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Order;
 import ua.training.domain.order.Receipt;
 import ua.training.domain.order.Status;
 import ua.training.domain.user.BankCard;
 import ua.training.domain.user.User;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.event.ReceiptCreatedEvent;
 import ua.training.exception.BankCardException;
 import ua.training.exception.OrderNotFoundException;
 import ua.training.repository.BankCardRepository;
+import ua.training.repository.ReceiptMonthlyRollupRepository;
 import ua.training.repository.ReceiptRepository;
 import ua.training.service.BankCardService;
 import ua.training.service.OrderService;
 import ua.training.service.UserService;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -38,7 +42,9 @@ public class BankCardServiceImpl implements BankCardService {
     private final UserService userService;
     private final OrderService orderService;
     private final ReceiptRepository receiptRepository;
+    private final ReceiptMonthlyRollupRepository receiptMonthlyRollupRepository;
     private final BankCardMapper bankCardMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${constants.ACCOUNT.TO.SEND.MONEY.id}")
     private Long ACCOUNT_TO_SEND_MONEY_ID;
@@ -53,12 +59,16 @@ public class BankCardServiceImpl implements BankCardService {
     private Long ACCOUNT_TO_SEND_MONEY_CCV;
 
     public BankCardServiceImpl(BankCardRepository bankCardRepository, UserService userService,
-                               OrderService orderService, ReceiptRepository receiptRepository, BankCardMapper bankCardMapper) {
+                               OrderService orderService, ReceiptRepository receiptRepository,
+                               ReceiptMonthlyRollupRepository receiptMonthlyRollupRepository,
+                               BankCardMapper bankCardMapper, ApplicationEventPublisher eventPublisher) {
         this.bankCardRepository = bankCardRepository;
         this.userService = userService;
         this.orderService = orderService;
         this.receiptRepository = receiptRepository;
+        this.receiptMonthlyRollupRepository = receiptMonthlyRollupRepository;
         this.bankCardMapper = bankCardMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -96,11 +106,11 @@ public class BankCardServiceImpl implements BankCardService {
         BankCard bankCardToSave = optionalBankCard
                 .orElseGet(() -> bankCardMapper.bankCardDtoToBankCard(bankCardDTO));
 
-        user.getCards().add(bankCardToSave);
-
         try {
-            log.error(bankCardToSave.toString());
-            BankCard savedBankCard = bankCardRepository.save(bankCardToSave);
+            BankCard savedBankCard = bankCardRepository.saveAndFlush(bankCardToSave);
+            if (!bankCardRepository.existsByIdAndUsers_Id(savedBankCard.getId(), user.getId())) {
+                bankCardRepository.addUserCard(user.getId(), savedBankCard.getId());
+            }
             return bankCardMapper.bankCardToDto(savedBankCard);
         } catch (DataIntegrityViolationException e) {
             throw new BankCardException("can not save bank card with id=" + bankCardDTO.getId());
@@ -111,11 +121,12 @@ public class BankCardServiceImpl implements BankCardService {
     @Override
     public BankCardDto updateBankCardDTO(BankCardDto bankCardDTO) throws BankCardException {
         BankCard bankCard = findBankCardById(bankCardDTO.getId());
-        bankCard.setBalance(bankCardDTO.getBalance());
+        bankCard.setBalance(Money.of(bankCardDTO.getBalance()));
         return bankCardMapper.bankCardToDto(bankCardRepository.save(bankCard));
     }
 
 
+    @Transactional(rollbackFor = BankCardException.class)
     @Override
     public void payForOrder(ReceiptDto receiptDto, String login) throws OrderNotFoundException, BankCardException{
 
@@ -129,7 +140,7 @@ public class BankCardServiceImpl implements BankCardService {
 
         BankCard bankCard =  findBankCardById(receiptDto.getBankCard());
 
-        if (bankCard.getBalance().subtract(order.getShippingPriceInCents()).compareTo(BigDecimal.ZERO) < 0){
+        if (bankCard.getBalance().isLessThan(order.getShippingPriceInCents())){
             throw  new BankCardException("no enough money");
         }
 
@@ -150,7 +161,8 @@ public class BankCardServiceImpl implements BankCardService {
     @Transactional(propagation = Propagation.REQUIRES_NEW,
             rollbackFor = {BankCardException.class})
     public void processPaying(Receipt receipt, Order order, BankCard bankCard) throws BankCardException {
-        BigDecimal moneyToPay = order.getShippingPriceInCents();
+        Money moneyToPay = order.getShippingPriceInCents();
+        Status previousStatus = order.getStatus();
 
         sendMoney(receipt.getBankCard().getId(), bankCard.getId(), moneyToPay);
         receipt.setPriceInCents(moneyToPay);
@@ -158,18 +170,25 @@ public class BankCardServiceImpl implements BankCardService {
         order.setReceipt(receipt);
         receipt.getOrder().setStatus(Status.PAID);
         receiptRepository.save(receipt);
+        receiptMonthlyRollupRepository.addReceipt(receipt.getCreationDate().getYear(),
+                receipt.getCreationDate().getMonthValue(), moneyToPay.toBigDecimal());
+
+        eventPublisher.publishEvent(new ReceiptCreatedEvent(receipt.getId(), receipt.getUser().getLogin(),
+                receipt.getCreationDate(), moneyToPay.toBigDecimal()));
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), receipt.getUser().getLogin(),
+                previousStatus, Status.PAID));
     }
 
 
     @Transactional(propagation = Propagation.REQUIRES_NEW,
             rollbackFor = BankCardException.class)
-    public void sendMoney(Long fromAccountId, Long toAccountId, BigDecimal amount) throws BankCardException {
+    public void sendMoney(Long fromAccountId, Long toAccountId, Money amount) throws BankCardException {
         replenishBankCard(fromAccountId, amount.negate());
         replenishBankCard(toAccountId, amount);
 
     }
 
-    public void replenishBankCard(Long bankId, BigDecimal moneyToAdd) throws BankCardException {
+    public void replenishBankCard(Long bankId, Money moneyToAdd) throws BankCardException {
         BankCard bankCard = findBankCardById(bankId);
         bankCard.setBalance(bankCard.getBalance().add(moneyToAdd));
         bankCardRepository.save(bankCard);
@@ -0,0 +1,184 @@
+package ua.training.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.training.api.dto.BulkOrderItemDto;
+import ua.training.api.dto.BulkOrderResultDto;
+import ua.training.api.dto.OrderDto;
+import ua.training.api.mapper.OrderMapper;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Order;
+import ua.training.domain.order.OrderType;
+import ua.training.domain.order.Status;
+import ua.training.domain.user.User;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.exception.DestinationNotFoundException;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.OrderCreateException;
+import ua.training.exception.OrderTypeNotFoundException;
+import ua.training.exception.UserNotFoundException;
+import ua.training.repository.OrderBatchRepository;
+import ua.training.repository.UserRepository;
+import ua.training.service.BulkOrderService;
+import ua.training.service.DestinationService;
+import ua.training.service.OrderService;
+import ua.training.service.OrderTypeService;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class BulkOrderServiceImpl implements BulkOrderService {
+
+    private final OrderBatchRepository orderBatchRepository;
+    private final UserRepository userRepository;
+    private final OrderTypeService orderTypeService;
+    private final DestinationService destinationService;
+    private final OrderService orderService;
+    private final OrderMapper orderMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${orders.bulk.max-size:1000}")
+    private int MAX_SIZE;
+
+    public BulkOrderServiceImpl(OrderBatchRepository orderBatchRepository, UserRepository userRepository,
+                                OrderTypeService orderTypeService, DestinationService destinationService,
+                                OrderService orderService, OrderMapper orderMapper, Validator validator,
+                                ApplicationEventPublisher eventPublisher) {
+        this.orderBatchRepository = orderBatchRepository;
+        this.userRepository = userRepository;
+        this.orderTypeService = orderTypeService;
+        this.destinationService = destinationService;
+        this.orderService = orderService;
+        this.orderMapper = orderMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(rollbackFor = OrderCreateException.class)
+    @Override
+    public BulkOrderResultDto createOrders(List<OrderDto> orderDtos, String login)
+            throws InvalidRequestException, OrderCreateException, UserNotFoundException {
+
+        if (orderDtos == null || orderDtos.isEmpty() || orderDtos.size() > MAX_SIZE) {
+            throw new InvalidRequestException("bulk request must contain between 1 and " + MAX_SIZE + " orders");
+        }
+
+        User owner = userRepository.findByLogin(login)
+                .orElseThrow(() -> new UserNotFoundException("no user with login=" + login));
+
+        BulkOrderItemDto[] items = new BulkOrderItemDto[orderDtos.size()];
+        List<Order> orders = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+
+        for (int index = 0; index < orderDtos.size(); index++) {
+            OrderDto orderDto = orderDtos.get(index);
+
+            String error = validate(orderDto);
+            OrderType orderType = null;
+            Destination destination = null;
+
+            if (error == null && orderDto.getWeight() == null) {
+                error = "weight must not be null";
+            }
+            if (error == null) {
+                try {
+                    orderType = orderTypeService.getOrderTypeById(parseId(orderDto.getType()));
+                    destination = destinationService.getDestination(orderDto.getDestinationCityFrom(),
+                            orderDto.getDestinationCityTo());
+                } catch (OrderTypeNotFoundException e) {
+                    error = "no order type with id=" + orderDto.getType();
+                } catch (DestinationNotFoundException e) {
+                    error = e.getMessage();
+                }
+            }
+
+            if (error != null) {
+                items[index] = BulkOrderItemDto.builder().index(index).error(error).build();
+                continue;
+            }
+
+            Order order = orderMapper.orderDtoToOrder(orderDto);
+            order.setId(null);
+            order.setStatus(Status.NOT_PAID);
+            order.setOrderType(orderType);
+            order.setDestination(destination);
+            order.setOwner(owner);
+            order.setShippingDate(LocalDate.now());
+            order.setShippingPriceInCents(orderService.calculatePrice(order));
+
+            orders.add(order);
+            indexes.add(index);
+        }
+
+        Map<Integer, DataIntegrityViolationException> failures;
+        try {
+            failures = orderBatchRepository.insertAll(orders);
+        } catch (DataAccessException e) {
+            log.error("bulk insert of " + orders.size() + " orders failed", e);
+            throw new OrderCreateException("Can not create orders for user " + login);
+        }
+
+        int created = 0;
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            DataIntegrityViolationException failure = failures.get(i);
+
+            if (failure != null) {
+                log.error("bulk order " + indexes.get(i) + " for user " + login + " was rejected", failure);
+                items[indexes.get(i)] = BulkOrderItemDto.builder()
+                        .index(indexes.get(i))
+                        .error("order violates a data constraint")
+                        .build();
+                continue;
+            }
+
+            items[indexes.get(i)] = BulkOrderItemDto.builder()
+                    .index(indexes.get(i))
+                    .orderId(order.getId())
+                    .shippingPriceInCents(order.getShippingPriceInCents())
+                    .build();
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), login, null, order.getStatus()));
+            created++;
+        }
+
+        return BulkOrderResultDto.builder()
+                .created(created)
+                .failed(orderDtos.size() - created)
+                .items(Arrays.asList(items))
+                .build();
+    }
+
+    private String validate(OrderDto orderDto) {
+        if (orderDto == null) {
+            return "order must not be null";
+        }
+
+        Set<ConstraintViolation<OrderDto>> violations = validator.validate(orderDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Long parseId(String id) {
+        try {
+            return Long.valueOf(id.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
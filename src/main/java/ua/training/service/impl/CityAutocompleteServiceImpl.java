@@ -0,0 +1,127 @@
+package ua.training.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ua.training.domain.order.Destination;
+import ua.training.event.ReferenceDataChangedEvent;
+import ua.training.exception.InvalidRequestException;
+import ua.training.service.CityAutocompleteService;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+public class CityAutocompleteServiceImpl implements CityAutocompleteService {
+
+    @Value("${cities.autocomplete.default-limit:10}")
+    private int DEFAULT_LIMIT;
+
+    @Value("${cities.autocomplete.max-limit:50}")
+    private int MAX_LIMIT;
+
+    private final ExecutorService trieExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "city-trie");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<ReferenceDataChangedEvent> pendingEvent = new AtomicReference<>();
+
+    private volatile CityTries cityTries = new CityTries(Collections.emptyList(), 0);
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        trieExecutor.shutdown();
+        trieExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+
+        if (pendingEvent.getAndSet(event) == null) {
+            trieExecutor.execute(this::rebuild);
+        }
+    }
+
+    @Override
+    public List<String> complete(String prefix, String direction, Integer limit) {
+
+        if (prefix == null) {
+            throw new InvalidRequestException("prefix must not be null");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        CityTries tries = cityTries;
+        if (direction == null) {
+            return tries.any.complete(prefix, size);
+        }
+        switch (direction) {
+            case "from":
+                return tries.from.complete(prefix, size);
+            case "to":
+                return tries.to.complete(prefix, size);
+            default:
+                throw new InvalidRequestException("no city direction " + direction);
+        }
+    }
+
+    private void rebuild() {
+
+        ReferenceDataChangedEvent event = pendingEvent.getAndSet(null);
+        if (event == null) {
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            CityTries tries = new CityTries(event.getDestinations(), MAX_LIMIT);
+            cityTries = tries;
+            log.info("city tries rebuilt for reference data version " + event.getVersion() + ": "
+                    + tries.any.size() + " cities in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (RuntimeException e) {
+            log.error("city tries rebuild failed for reference data version " + event.getVersion(), e);
+        }
+    }
+
+    private static class CityTries {
+
+        private final CityTrie from;
+        private final CityTrie to;
+        private final CityTrie any;
+
+        CityTries(List<Destination> destinations, int maxResults) {
+
+            Map<String, Integer> citiesFrom = new HashMap<>();
+            Map<String, Integer> citiesTo = new HashMap<>();
+            Map<String, Integer> cities = new HashMap<>();
+
+            for (Destination destination : destinations) {
+                if (destination.getCityFrom() != null) {
+                    citiesFrom.merge(destination.getCityFrom(), 1, Integer::sum);
+                    cities.merge(destination.getCityFrom(), 1, Integer::sum);
+                }
+                if (destination.getCityTo() != null) {
+                    citiesTo.merge(destination.getCityTo(), 1, Integer::sum);
+                    cities.merge(destination.getCityTo(), 1, Integer::sum);
+                }
+            }
+
+            from = new CityTrie(citiesFrom, maxResults);
+            to = new CityTrie(citiesTo, maxResults);
+            any = new CityTrie(cities, maxResults);
+        }
+    }
+}
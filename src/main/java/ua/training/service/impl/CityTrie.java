@@ -0,0 +1,90 @@
+package ua.training.service.impl;
+
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.*;
+
+class CityTrie {
+
+    private static final Locale UKRAINIAN = new Locale("uk", "UA");
+    private static final String APOSTROPHES = "'\u2019\u2018\u02BC`\u00B4";
+
+    private final Node root = new Node();
+    private final String[] cities;
+
+    CityTrie(Map<String, Integer> cityWeights, int maxResults) {
+
+        Collator collator = Collator.getInstance(UKRAINIAN);
+        List<String> ranked = new ArrayList<>(cityWeights.keySet());
+        ranked.sort(Comparator.<String>comparingInt(cityWeights::get).reversed().thenComparing(collator));
+        cities = ranked.toArray(new String[0]);
+
+        for (int city = 0; city < cities.length; city++) {
+            Node node = root;
+            node.add(city, maxResults);
+
+            String folded = fold(cities[city]);
+            for (int offset = 0; offset < folded.length(); ) {
+                int codePoint = folded.codePointAt(offset);
+                node = node.children.computeIfAbsent(codePoint, key -> new Node());
+                node.add(city, maxResults);
+                offset += Character.charCount(codePoint);
+            }
+        }
+    }
+
+    static String fold(String text) {
+
+        String normalized = Normalizer.normalize(text.trim(), Normalizer.Form.NFKC);
+        StringBuilder folded = new StringBuilder(normalized.length());
+        normalized.codePoints().forEach(codePoint -> {
+            if (APOSTROPHES.indexOf(codePoint) >= 0) {
+                folded.append('\'');
+            } else {
+                folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint)));
+            }
+        });
+        return folded.toString();
+    }
+
+    List<String> complete(String prefix, int limit) {
+
+        Node node = root;
+        String folded = fold(prefix);
+        for (int offset = 0; offset < folded.length(); ) {
+            int codePoint = folded.codePointAt(offset);
+            node = node.children.get(codePoint);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            offset += Character.charCount(codePoint);
+        }
+
+        int size = Math.min(limit, node.size);
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(cities[node.top[i]]);
+        }
+        return result;
+    }
+
+    int size() {
+        return cities.length;
+    }
+
+    private static class Node {
+
+        private final Map<Integer, Node> children = new HashMap<>(4);
+        private int[] top = new int[1];
+        private int size;
+
+        void add(int city, int maxResults) {
+            if (size < maxResults) {
+                if (size == top.length) {
+                    top = Arrays.copyOf(top, Math.min(maxResults, size * 2));
+                }
+                top[size++] = city;
+            }
+        }
+    }
+}
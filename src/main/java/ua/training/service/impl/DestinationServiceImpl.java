@@ -1,15 +1,25 @@
 package ua.training.service.impl;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import ua.training.api.dto.DestinationDto;
+import ua.training.api.dto.RouteDto;
+import ua.training.api.dto.RoutePlanDto;
 import ua.training.api.mapper.DestinationMapper;
 import ua.training.domain.order.Destination;
+import ua.training.event.ReferenceDataChangedEvent;
 import ua.training.exception.DestinationNotFoundException;
 import ua.training.repository.DestinationRepository;
 import ua.training.service.DestinationService;
+import ua.training.service.route.Route;
+import ua.training.service.route.RoutePlanner;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -18,15 +28,31 @@ public class DestinationServiceImpl implements DestinationService {
 
     private final DestinationRepository destinationRepository;
     private final DestinationMapper destinationMapper;
+    private final RoutePlanner routePlanner;
 
-    public DestinationServiceImpl(DestinationRepository destinationRepository, DestinationMapper destinationMapper) {
+    private volatile RouteTable routeTable;
+
+    public DestinationServiceImpl(DestinationRepository destinationRepository, DestinationMapper destinationMapper,
+                                  RoutePlanner routePlanner) {
         this.destinationRepository = destinationRepository;
         this.destinationMapper = destinationMapper;
+        this.routePlanner = routePlanner;
+    }
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        routeTable = new RouteTable(event.getDestinations(), destinationMapper);
+        log.info("route table rebuilt for reference data version " + event.getVersion());
     }
 
     @Override
     public List<DestinationDto> getAllDestinationDto() {
 
+        RouteTable table = routeTable;
+        if (table != null) {
+            return table.destinationDtos;
+        }
+
         return destinationRepository.findAll().stream()
                 .map(destinationMapper::destinationToDestinationDto)
                 .collect(Collectors.toList());
@@ -36,8 +62,75 @@ public class DestinationServiceImpl implements DestinationService {
     @Override
     public Destination getDestination(String cityFrom, String cityTo) throws DestinationNotFoundException {
 
+        RouteTable table = routeTable;
+        if (table != null) {
+            Destination destination = table.get(cityFrom, cityTo);
+            if (destination == null) {
+                throw new DestinationNotFoundException("no destination : " + cityFrom + " - " + cityTo);
+            }
+            return destination;
+        }
+
         return destinationRepository
                 .findByCityFromAndCityTo(cityFrom, cityTo)
                 .orElseThrow(() -> new DestinationNotFoundException("no destination : " + cityFrom + " - " + cityTo));
     }
+
+    @Override
+    public RoutePlanDto getRoutePlan(String cityFrom, String cityTo) throws DestinationNotFoundException {
+
+        Route cheapest = routePlanner.findCheapestRoute(cityFrom, cityTo)
+                .orElseThrow(() -> new DestinationNotFoundException("no destination : " + cityFrom + " - " + cityTo));
+        Route fastest = routePlanner.findFastestRoute(cityFrom, cityTo).orElse(cheapest);
+
+        return RoutePlanDto.builder()
+                .cityFrom(cityFrom)
+                .cityTo(cityTo)
+                .cheapest(routeToRouteDto(cheapest))
+                .fastest(routeToRouteDto(fastest))
+                .build();
+    }
+
+    private static RouteDto routeToRouteDto(Route route) {
+        return RouteDto.builder()
+                .cities(route.getCities())
+                .priceInCents(route.getPriceInCents())
+                .daysToDeliver(route.getDaysToDeliver())
+                .build();
+    }
+
+    private static class RouteTable {
+
+        private final ImmutableMap<String, ImmutableMap<String, Destination>> routes;
+        private final ImmutableList<DestinationDto> destinationDtos;
+
+        RouteTable(List<Destination> destinations, DestinationMapper destinationMapper) {
+
+            Map<String, Map<String, Destination>> routesByCityFrom = new LinkedHashMap<>();
+            ImmutableList.Builder<DestinationDto> dtos = ImmutableList.builder();
+
+            for (Destination destination : destinations) {
+                if (destination.getCityFrom() != null && destination.getCityTo() != null) {
+                    routesByCityFrom.computeIfAbsent(destination.getCityFrom(), cityFrom -> new LinkedHashMap<>())
+                            .putIfAbsent(destination.getCityTo(), destination);
+                }
+                dtos.add(destinationMapper.destinationToDestinationDto(destination));
+            }
+
+            ImmutableMap.Builder<String, ImmutableMap<String, Destination>> builder = ImmutableMap.builder();
+            routesByCityFrom.forEach((cityFrom, routesTo) -> builder.put(cityFrom, ImmutableMap.copyOf(routesTo)));
+
+            routes = builder.build();
+            destinationDtos = dtos.build();
+        }
+
+        Destination get(String cityFrom, String cityTo) {
+
+            if (cityFrom == null || cityTo == null) {
+                return null;
+            }
+            ImmutableMap<String, Destination> routesTo = routes.get(cityFrom);
+            return routesTo == null ? null : routesTo.get(cityTo);
+        }
+    }
 }
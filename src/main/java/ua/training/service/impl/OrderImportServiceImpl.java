@@ -0,0 +1,256 @@
+package ua.training.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import ua.training.api.dto.BulkOrderItemDto;
+import ua.training.api.dto.BulkOrderResultDto;
+import ua.training.api.dto.ImportJobDto;
+import ua.training.api.dto.ImportRowErrorDto;
+import ua.training.api.dto.OrderDto;
+import ua.training.domain.order.ImportStatus;
+import ua.training.exception.ImportJobNotFoundException;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.OrderCreateException;
+import ua.training.service.BulkOrderService;
+import ua.training.service.OrderImportService;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class OrderImportServiceImpl implements OrderImportService {
+
+    private final BulkOrderService bulkOrderService;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, ImportJob> activeJobs = new ConcurrentHashMap<>();
+    private final Cache<String, ImportJob> finishedJobs;
+    private final ExecutorService importExecutor;
+
+    @Value("${orders.import.chunk-size:500}")
+    private int CHUNK_SIZE;
+
+    @Value("${orders.import.max-errors:1000}")
+    private int MAX_ERRORS;
+
+    public OrderImportServiceImpl(BulkOrderService bulkOrderService, ObjectMapper objectMapper,
+                                  @Value("${orders.import.threads:2}") int threads,
+                                  @Value("${orders.import.job-ttl-minutes:60}") long jobTtlMinutes) {
+        this.bulkOrderService = bulkOrderService;
+        this.objectMapper = objectMapper;
+        this.finishedJobs = CacheBuilder.newBuilder()
+                .expireAfterAccess(jobTtlMinutes, TimeUnit.MINUTES)
+                .build();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.importExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "order-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        importExecutor.shutdown();
+        importExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public ImportJobDto startImport(MultipartFile file, String login) throws InvalidRequestException {
+
+        if (file == null || file.isEmpty()) {
+            throw new InvalidRequestException("import file must not be empty");
+        }
+        OrderManifestReader.Format format = format(file);
+
+        Path manifest = storeManifest(file, format, login);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), login);
+        activeJobs.put(job.id, job);
+        importExecutor.execute(() -> run(job, manifest, format));
+
+        return job.toDto();
+    }
+
+    @Override
+    public ImportJobDto getImportJob(String jobId, String login) throws ImportJobNotFoundException {
+
+        ImportJob job = activeJobs.get(jobId);
+        if (job == null) {
+            job = finishedJobs.getIfPresent(jobId);
+        }
+        if (job == null || !job.login.equals(login)) {
+            throw new ImportJobNotFoundException("no import job with id=" + jobId);
+        }
+        return job.toDto();
+    }
+
+    private void run(ImportJob job, Path manifest, OrderManifestReader.Format format) {
+
+        job.status = ImportStatus.RUNNING;
+
+        try (OrderManifestReader reader = new OrderManifestReader(
+                Files.newBufferedReader(manifest, StandardCharsets.UTF_8), format, objectMapper)) {
+
+            List<OrderDto> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<Long> rows = new ArrayList<>(CHUNK_SIZE);
+
+            OrderManifestReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (row.getError() != null) {
+                    job.rowFailed(row.getNumber(), row.getError());
+                    continue;
+                }
+
+                chunk.add(row.getOrderDto());
+                rows.add(row.getNumber());
+                if (chunk.size() == CHUNK_SIZE) {
+                    persist(job, chunk, rows);
+                }
+            }
+            persist(job, chunk, rows);
+
+            job.status = ImportStatus.COMPLETED;
+            log.info("order import " + job.id + " completed: " + job.created + " created, " + job.failed + " failed");
+        } catch (IOException | RuntimeException e) {
+            log.error("order import " + job.id + " failed", e);
+            job.message = e.getMessage();
+            job.status = ImportStatus.FAILED;
+        } finally {
+            deleteManifest(manifest);
+            finishedJobs.put(job.id, job);
+            activeJobs.remove(job.id);
+        }
+    }
+
+    private void persist(ImportJob job, List<OrderDto> chunk, List<Long> rows) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        BulkOrderResultDto result = bulkOrderService.createOrders(chunk, job.login);
+        for (BulkOrderItemDto item : result.getItems()) {
+            if (item.getError() == null) {
+                job.rowCreated();
+            } else {
+                job.rowFailed(rows.get(item.getIndex()), item.getError());
+            }
+        }
+
+        chunk.clear();
+        rows.clear();
+    }
+
+    private Path storeManifest(MultipartFile file, OrderManifestReader.Format format, String login) {
+
+        Path manifest = null;
+        try {
+            manifest = Files.createTempFile("order-import-", "." + format.name().toLowerCase(Locale.ROOT));
+            file.transferTo(manifest);
+            return manifest;
+        } catch (IOException e) {
+            log.error("can not store import manifest for user " + login, e);
+            if (manifest != null) {
+                deleteManifest(manifest);
+            }
+            throw new OrderCreateException("Can not store import file for user " + login);
+        }
+    }
+
+    private void deleteManifest(Path manifest) {
+        try {
+            Files.deleteIfExists(manifest);
+        } catch (IOException e) {
+            log.error("can not delete import manifest " + manifest, e);
+        }
+    }
+
+    private OrderManifestReader.Format format(MultipartFile file) throws InvalidRequestException {
+
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        String contentType = file.getContentType() == null ? "" : file.getContentType().toLowerCase(Locale.ROOT);
+
+        if (name.endsWith(".csv") || contentType.startsWith("text/csv")) {
+            return OrderManifestReader.Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || contentType.startsWith("application/x-ndjson")) {
+            return OrderManifestReader.Format.NDJSON;
+        }
+        throw new InvalidRequestException("import file must be CSV or NDJSON");
+    }
+
+    private class ImportJob {
+
+        private final String id;
+
+        private final String login;
+
+        private final AtomicLong created = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private final List<ImportRowErrorDto> errors = new ArrayList<>();
+
+        private volatile ImportStatus status = ImportStatus.QUEUED;
+
+        private volatile String message;
+
+        ImportJob(String id, String login) {
+            this.id = id;
+            this.login = login;
+        }
+
+        void rowCreated() {
+            created.incrementAndGet();
+        }
+
+        void rowFailed(long row, String error) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add(ImportRowErrorDto.builder().row(row).error(error).build());
+                }
+            }
+        }
+
+        ImportJobDto toDto() {
+            long failedRows = failed.get();
+            List<ImportRowErrorDto> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = new ArrayList<>(errors);
+            }
+
+            return ImportJobDto.builder()
+                    .jobId(id)
+                    .status(status)
+                    .processedRows(created.get() + failedRows)
+                    .createdOrders(created.get())
+                    .failedRows(failedRows)
+                    .errors(errorsCopy)
+                    .errorsTruncated(failedRows > errorsCopy.size())
+                    .message(message)
+                    .build();
+        }
+    }
+}
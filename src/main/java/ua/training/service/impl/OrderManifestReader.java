@@ -0,0 +1,166 @@
+package ua.training.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ua.training.api.dto.OrderDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.*;
+
+class OrderManifestReader implements Closeable {
+
+    static final List<String> CSV_COLUMNS =
+            Arrays.asList("description", "type", "destinationCityFrom", "destinationCityTo", "weight");
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+
+    private Map<String, Integer> columns;
+    private int columnCount;
+    private long lineNumber;
+
+    OrderManifestReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    Row next() throws IOException {
+
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.trim().isEmpty());
+
+        if (format == Format.NDJSON) {
+            return readJson(line);
+        }
+        if (columns == null) {
+            readHeader(line);
+            return next();
+        }
+        return readCsv(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row readJson(String line) {
+        try {
+            return new Row(lineNumber, objectMapper.readValue(line, OrderDto.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, "invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void readHeader(String line) throws IOException {
+
+        List<String> header = splitCsv(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        if (header == null) {
+            throw new IOException("invalid CSV header");
+        }
+
+        columns = new HashMap<>();
+        columnCount = header.size();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new IOException("CSV header must contain columns " + String.join(",", CSV_COLUMNS));
+        }
+    }
+
+    private Row readCsv(String line) {
+
+        List<String> values = splitCsv(line);
+        if (values == null) {
+            return new Row(lineNumber, null, "unterminated quoted field");
+        }
+        if (values.size() != columnCount) {
+            return new Row(lineNumber, null, "expected " + columnCount + " columns but found " + values.size());
+        }
+
+        BigDecimal weight;
+        try {
+            String value = value(values, "weight");
+            weight = value.isEmpty() ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return new Row(lineNumber, null, "weight is not a number");
+        }
+
+        return new Row(lineNumber, OrderDto.builder()
+                .description(value(values, "description"))
+                .type(value(values, "type"))
+                .destinationCityFrom(value(values, "destinationCityFrom"))
+                .destinationCityTo(value(values, "destinationCityTo"))
+                .weight(weight)
+                .build(), null);
+    }
+
+    private String value(List<String> values, String column) {
+        return values.get(columns.get(column)).trim();
+    }
+
+    static List<String> splitCsv(String line) {
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Row {
+
+        private final long number;
+
+        private final OrderDto orderDto;
+
+        private final String error;
+    }
+}
@@ -2,27 +2,41 @@ package ua.training.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ua.training.api.dto.KeysetPageDto;
 import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.api.dto.PageDto;
 import ua.training.api.mapper.OrderMapper;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Order;
 import ua.training.domain.order.Status;
 import ua.training.domain.user.User;
+import ua.training.event.OrderDeletedEvent;
+import ua.training.event.OrderStatusChangedEvent;
 import ua.training.exception.*;
 import ua.training.repository.OrderRepository;
 import ua.training.repository.UserRepository;
+import ua.training.repository.projection.OrderListRow;
+import ua.training.repository.specification.OrderSpecifications;
 import ua.training.service.DestinationService;
 import ua.training.service.OrderService;
 import ua.training.service.OrderTypeService;
+import ua.training.service.cache.UserOrderCache;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -34,77 +48,184 @@ public class OrderServiceImpl implements OrderService {
     private final OrderMapper orderMapper;
     private final OrderTypeService orderTypeService;
     private final DestinationService destinationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserOrderCache userOrderCache;
 
     @Value("${constants.BASE.PRICE}")
-    private BigDecimal BASE_PRICE;
+    private Money BASE_PRICE;
 
     @Value("${constants.WEIGHT.COEFFICIENT}")
-    private BigDecimal WEIGHT_COEFFICIENT;
+    private Money WEIGHT_COEFFICIENT;
+
+    private static final Set<String> QUEUE_SORT_PROPERTIES =
+            new HashSet<>(Arrays.asList("id", "shippingDate", "shippingPriceInCents", "weight"));
+
+    private static final Set<String> SEARCH_SORT_PROPERTIES =
+            new HashSet<>(Arrays.asList("id", "shippingDate", "deliveryDate", "shippingPriceInCents", "weight"));
+
+    @Value("${orders.page.max-size:100}")
+    private int MAX_PAGE_SIZE;
 
     public OrderServiceImpl(OrderRepository orderRepository, UserRepository userRepository, OrderMapper orderMapper,
-                            OrderTypeService orderTypeService, DestinationService destinationService) {
+                            OrderTypeService orderTypeService, DestinationService destinationService,
+                            ApplicationEventPublisher eventPublisher, UserOrderCache userOrderCache) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.orderMapper = orderMapper;
         this.orderTypeService = orderTypeService;
         this.destinationService = destinationService;
+        this.eventPublisher = eventPublisher;
+        this.userOrderCache = userOrderCache;
     }
 
     public List<OrderDto> findAllUserOrders(String login) {
-        return orderRepository.findOrderByOwner_Login(login).stream()
+        return userOrderCache.getList(login, "all", () ->
+                orderRepository.findByOwner_LoginAndStatusNot(login, Status.ARCHIVED).stream()
                         .map(orderMapper::orderToOrderDto)
-                        .filter(o -> !o.getStatus().equals(Status.ARCHIVED))
-                        .collect(Collectors.toList());
+                        .collect(Collectors.toList()));
     }
 
     @Override
     public List<OrderDto> findAllNotPaidUserOrders(String login) {
-        return orderRepository.findByStatusAndOwner_Login(Status.NOT_PAID, login).stream()
-                        .map(orderMapper::orderToOrderDto)
-                        .collect(Collectors.toList());
+        return findUserOrdersByStatus(login, Status.NOT_PAID);
     }
 
     @Override
     public List<OrderDto> findAllArchivedUserOrders(String login) {
-        return orderRepository.findByStatusAndOwner_Login(Status.ARCHIVED, login).stream()
-                        .map(orderMapper::orderToOrderDto)
-                        .collect(Collectors.toList());
+        return findUserOrdersByStatus(login, Status.ARCHIVED);
     }
 
     @Override
     public List<OrderDto> findAllDeliveredUserOrders(String login) {
-        return orderRepository.findByStatusAndOwner_Login(Status.DELIVERED, login).stream()
+        return findUserOrdersByStatus(login, Status.DELIVERED);
+    }
+
+    private List<OrderDto> findUserOrdersByStatus(String login, Status status) {
+        return userOrderCache.getList(login, status.name(), () ->
+                orderRepository.findByStatusAndOwner_Login(status, login).stream()
                         .map(orderMapper::orderToOrderDto)
-                        .collect(Collectors.toList());
+                        .collect(Collectors.toList()));
     }
 
-    public List<OrderDto> findAllPaidOrdersDTO() {
-        return orderRepository.findOrderByStatus(Status.PAID).stream()
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPageDto<OrderDto> findUserOrdersPage(String login, Collection<Status> statuses, Long after, int size)
+            throws InvalidRequestException {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Order> orders = orderRepository.findByOwner_LoginAndStatusInAndIdGreaterThanOrderByIdAsc(login,
+                statuses, after == null ? 0L : after, PageRequest.of(0, size + 1));
+
+        boolean hasNext = orders.size() > size;
+        List<Order> page = hasNext ? orders.subList(0, size) : orders;
+
+        return KeysetPageDto.<OrderDto>builder()
+                .content(page.stream()
                         .map(orderMapper::orderToOrderDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasNext ? page.get(size - 1).getId() : null)
+                .build();
+    }
+
+    public List<OrderDto> findAllPaidOrdersDTO() {
+        return orderRepository.findOrderListRowsByStatus(Status.PAID).stream()
+                        .map(orderMapper::orderListRowToOrderDto)
                         .collect(Collectors.toList());
     }
 
     @Override
     public List<OrderDto> findAllShippedOrdersDTO() {
-        return orderRepository.findOrderByStatus(Status.SHIPPED).stream()
-                        .map(orderMapper::orderToOrderDto)
+        return orderRepository.findOrderListRowsByStatus(Status.SHIPPED).stream()
+                        .map(orderMapper::orderListRowToOrderDto)
                         .collect(Collectors.toList());
     }
 
     @Override
     public List<OrderDto> findAllDeliveredOrdersDto() {
-        return orderRepository.findOrderByStatus(Status.DELIVERED).stream()
-                        .map(orderMapper::orderToOrderDto)
+        return orderRepository.findOrderListRowsByStatus(Status.DELIVERED).stream()
+                        .map(orderMapper::orderListRowToOrderDto)
                         .collect(Collectors.toList());
     }
 
-    public BigDecimal calculatePrice(Order order) {
+    @Override
+    public PageDto<OrderDto> findOrdersPageByStatus(Status status, int page, int size, String sort,
+                                                    Sort.Direction direction) throws InvalidRequestException {
+
+        PageRequest pageRequest = pageRequest(page, size, sort, direction, QUEUE_SORT_PROPERTIES);
+
+        return toPageDto(orderRepository.findOrderListRowsByStatus(status, pageRequest)
+                .map(orderMapper::orderListRowToOrderDto));
+    }
+
+    @Override
+    public PageDto<OrderDto> searchOrders(OrderSearchDto search, String login, int page, int size, String sort,
+                                          Sort.Direction direction) throws InvalidRequestException {
+
+        checkRange(search.getShippingDateFrom(), search.getShippingDateTo(), "shipping date");
+        checkRange(search.getDeliveryDateFrom(), search.getDeliveryDateTo(), "delivery date");
+        checkRange(search.getPriceFrom(), search.getPriceTo(), "price");
+
+        PageRequest pageRequest = pageRequest(page, size, sort, direction, SEARCH_SORT_PROPERTIES);
+
+        return toPageDto(orderRepository.findAll(OrderSpecifications.matches(search, login), pageRequest)
+                .map(orderMapper::orderToOrderDto));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void streamOrdersByStatus(Status status, Consumer<OrderDto> consumer) {
+        try (Stream<OrderListRow> rows = orderRepository.streamOrderListRowsByStatus(status)) {
+            rows.map(orderMapper::orderListRowToOrderDto)
+                    .forEach(consumer);
+        }
+    }
 
-        BigDecimal priceForDestination = order.getDestination().getPriceInCents();
+    private PageRequest pageRequest(int page, int size, String sort, Sort.Direction direction,
+                                    Set<String> sortProperties) throws InvalidRequestException {
 
-        BigDecimal priceForWeight = order.getWeight().multiply(WEIGHT_COEFFICIENT);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("page must be positive and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!sortProperties.contains(sort)) {
+            throw new InvalidRequestException("can not sort orders by " + sort);
+        }
 
-        BigDecimal priceForType = order.getOrderType().getPriceInCents();
+        Sort pageSort = Sort.by(direction, sort);
+        if (!"id".equals(sort)) {
+            pageSort = pageSort.and(Sort.by("id"));
+        }
+        return PageRequest.of(page, size, pageSort);
+    }
+
+    private <T extends Comparable<? super T>> void checkRange(T from, T to, String name)
+            throws InvalidRequestException {
+
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new InvalidRequestException(name + " range start must not be after its end");
+        }
+    }
+
+    private PageDto<OrderDto> toPageDto(Page<OrderDto> orders) {
+        return PageDto.<OrderDto>builder()
+                .content(orders.getContent())
+                .page(orders.getNumber())
+                .size(orders.getSize())
+                .totalElements(orders.getTotalElements())
+                .totalPages(orders.getTotalPages())
+                .build();
+    }
+
+    @Override
+    public Money calculatePrice(Order order) {
+
+        Money priceForDestination = order.getDestination().getPriceInCents();
+
+        Money priceForWeight = WEIGHT_COEFFICIENT.multiply(order.getWeight());
+
+        Money priceForType = order.getOrderType().getPriceInCents();
 
         return priceForDestination.add(priceForType).add(priceForWeight).add(BASE_PRICE);
 
@@ -120,10 +241,9 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public OrderDto getOrderDtoByIdAndUserId(Long id, String login) throws OrderNotFoundException {
 
-        Order order = orderRepository.findByIdAndOwner_Login(id, login)
-                .orElseThrow(() -> new OrderNotFoundException("no order with id=" + id));
-
-        return orderMapper.orderToOrderDto(order);
+        return userOrderCache.getOrder(login, id, () -> orderRepository.findByIdAndOwner_Login(id, login)
+                .map(orderMapper::orderToOrderDto)
+                .orElseThrow(() -> new OrderNotFoundException("no order with id=" + id)));
     }
 
     @Override
@@ -150,6 +270,7 @@ public class OrderServiceImpl implements OrderService {
             orderToSave.setShippingDate(LocalDate.now());
             orderToSave.setShippingPriceInCents(calculatePrice(orderToSave));
             Order order = orderRepository.save(orderToSave);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), login, null, order.getStatus()));
             return orderMapper.orderToOrderDto(order);
         } catch (DataIntegrityViolationException | OrderTypeNotFoundException | DestinationNotFoundException e) {
             throw new OrderCreateException("Can not create order with id = " + orderDTO.getId());
@@ -163,6 +284,8 @@ public class OrderServiceImpl implements OrderService {
         if (order.getStatus().equals(Status.RECEIVED)) {
             order.setStatus(Status.ARCHIVED);
             orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getOwner().getLogin(),
+                    Status.RECEIVED, Status.ARCHIVED));
         }
         return orderMapper.orderToOrderDto(order);
     }
@@ -173,6 +296,7 @@ public class OrderServiceImpl implements OrderService {
 
         if (order.getStatus().equals(Status.NOT_PAID)){
             orderRepository.delete(order);
+            eventPublisher.publishEvent(new OrderDeletedEvent(order.getId(), order.getOwner().getLogin()));
         }
 
         log.info("deleting order");
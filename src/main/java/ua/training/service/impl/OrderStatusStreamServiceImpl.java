@@ -0,0 +1,173 @@
+package ua.training.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.training.api.dto.OrderStatusEventDto;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.exception.TooManyConnectionsException;
+import ua.training.service.OrderStatusStreamService;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class OrderStatusStreamServiceImpl implements OrderStatusStreamService {
+
+    static final String EVENT_NAME = "order-status";
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Deque<OrderStatusEventDto> replayBuffer = new ArrayDeque<>();
+    private long lastEventId;
+
+    @Value("${orders.events.max-connections:1000}")
+    private int MAX_CONNECTIONS;
+
+    @Value("${orders.events.replay-size:1000}")
+    private int REPLAY_SIZE;
+
+    @Value("${orders.events.timeout-ms:1800000}")
+    private long TIMEOUT_MS;
+
+    @Override
+    public SseEmitter subscribeUser(String login, Long lastEventId) throws TooManyConnectionsException {
+        return subscribe(login, lastEventId);
+    }
+
+    @Override
+    public SseEmitter subscribeAdmin(Long lastEventId) throws TooManyConnectionsException {
+        return subscribe(null, lastEventId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+
+        OrderStatusEventDto eventDto;
+        synchronized (replayBuffer) {
+            eventDto = OrderStatusEventDto.builder()
+                    .eventId(++lastEventId)
+                    .orderId(event.getOrderId())
+                    .ownerLogin(event.getOwnerLogin())
+                    .previousStatus(event.getPreviousStatus())
+                    .status(event.getStatus())
+                    .build();
+
+            replayBuffer.addLast(eventDto);
+            while (replayBuffer.size() > REPLAY_SIZE) {
+                replayBuffer.removeFirst();
+            }
+
+            subscriptions.stream()
+                    .filter(subscription -> subscription.accepts(eventDto))
+                    .forEach(subscription -> subscription.pending.add(eventDto));
+        }
+
+        subscriptions.forEach(this::drain);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        subscriptions.forEach(subscription -> send(subscription, SseEmitter.event().comment("heartbeat")));
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(TIMEOUT_MS);
+    }
+
+    private SseEmitter subscribe(String login, Long lastEventId) throws TooManyConnectionsException {
+
+        SseEmitter emitter = newEmitter();
+        Subscription subscription = new Subscription(login, emitter);
+
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriptions.remove(subscription));
+
+        synchronized (replayBuffer) {
+            if (subscriptions.size() >= MAX_CONNECTIONS) {
+                throw new TooManyConnectionsException("order status stream is limited to " + MAX_CONNECTIONS
+                        + " connections");
+            }
+            subscriptions.add(subscription);
+
+            if (lastEventId != null) {
+                replayBuffer.stream()
+                        .filter(eventDto -> eventDto.getEventId() > lastEventId)
+                        .filter(subscription::accepts)
+                        .forEach(subscription.pending::add);
+            }
+        }
+
+        drain(subscription);
+        return emitter;
+    }
+
+    private SseEmitter.SseEventBuilder event(OrderStatusEventDto eventDto) {
+        return SseEmitter.event()
+                .id(String.valueOf(eventDto.getEventId()))
+                .name(EVENT_NAME)
+                .data(eventDto);
+    }
+
+    private void drain(Subscription subscription) {
+
+        while (!subscription.pending.isEmpty() && subscription.draining.compareAndSet(false, true)) {
+            try {
+                OrderStatusEventDto eventDto;
+                while ((eventDto = subscription.pending.poll()) != null) {
+                    if (eventDto.getEventId() <= subscription.lastSentEventId) {
+                        continue;
+                    }
+                    subscription.lastSentEventId = eventDto.getEventId();
+                    if (!send(subscription, event(eventDto))) {
+                        subscription.pending.clear();
+                    }
+                }
+            } finally {
+                subscription.draining.set(false);
+            }
+        }
+    }
+
+    private boolean send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("dropping order status subscription: " + e.getMessage());
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private static class Subscription {
+
+        private final String login;
+
+        private final SseEmitter emitter;
+
+        private final Queue<OrderStatusEventDto> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private long lastSentEventId;
+
+        Subscription(String login, SseEmitter emitter) {
+            this.login = login;
+            this.emitter = emitter;
+        }
+
+        boolean accepts(OrderStatusEventDto eventDto) {
+            return login == null || login.equals(eventDto.getOwnerLogin());
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package ua.training.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.PageDto;
+import ua.training.api.mapper.OrderMapper;
+import ua.training.domain.order.Order;
+import ua.training.event.OrderDeletedEvent;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.exception.InvalidRequestException;
+import ua.training.repository.OrderRepository;
+import ua.training.repository.projection.OrderDescription;
+import ua.training.service.OrderTextSearchService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class OrderTextSearchServiceImpl implements OrderTextSearchService {
+
+    static final String ID = "id";
+    static final String DESCRIPTION = "description";
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final TransactionTemplate readTransaction;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-text-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, Boolean> pendingChanges = new LinkedHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    @Value("${orders.search.index-dir:order-index}")
+    private String INDEX_DIR;
+
+    @Value("${orders.search.batch-size:1000}")
+    private int BATCH_SIZE;
+
+    @Value("${orders.page.max-size:100}")
+    private int MAX_PAGE_SIZE;
+
+    public OrderTextSearchServiceImpl(OrderRepository orderRepository, OrderMapper orderMapper,
+                                      PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        indexWriter = new IndexWriter(FSDirectory.open(Paths.get(INDEX_DIR)), new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        indexExecutor.shutdown();
+        indexExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        searcherManager.close();
+        indexWriter.commit();
+        indexWriter.close();
+    }
+
+    @Override
+    public PageDto<OrderDto> search(String text, int page, int size) throws InvalidRequestException {
+
+        if (text == null || text.trim().isEmpty()) {
+            throw new InvalidRequestException("search text must not be empty");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE || (long) (page + 1) * size > Integer.MAX_VALUE) {
+            throw new InvalidRequestException("page must be positive and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Query query = new SimpleQueryParser(analyzer, DESCRIPTION).parse(text);
+        List<Long> ids = new ArrayList<>();
+        long totalElements;
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, (page + 1) * size);
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = page * size; i < scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(searcher.doc(scoreDocs[i].doc).get(ID)));
+                }
+                totalElements = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value : searcher.count(query);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<Long, Order> orders = orderRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<OrderDto> content = ids.stream()
+                .map(orders::get)
+                .filter(Objects::nonNull)
+                .map(orderMapper::orderToOrderDto)
+                .collect(Collectors.toList());
+
+        return PageDto.<OrderDto>builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages((int) ((totalElements + size - 1) / size))
+                .build();
+    }
+
+    @Override
+    public long rebuildIndex() {
+
+        try {
+            return indexExecutor.submit(this::reindex).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("order text index rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.search.commit-ms:30000}")
+    public void commitIndex() {
+        if (!indexExecutor.isShutdown()) {
+            indexExecutor.execute(this::commit);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getPreviousStatus() == null) {
+            enqueue(event.getOrderId(), true);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderDeleted(OrderDeletedEvent event) {
+        enqueue(event.getOrderId(), false);
+    }
+
+    private void enqueue(Long orderId, boolean index) {
+        synchronized (pendingChanges) {
+            pendingChanges.remove(orderId);
+            pendingChanges.put(orderId, index);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            indexExecutor.execute(this::flushChanges);
+        }
+    }
+
+    private void flushChanges() {
+
+        flushScheduled.set(false);
+
+        for (Map<Long, Boolean> batch = nextBatch(); !batch.isEmpty(); batch = nextBatch()) {
+            try {
+                List<Long> toIndex = new ArrayList<>();
+                for (Map.Entry<Long, Boolean> change : batch.entrySet()) {
+                    indexWriter.deleteDocuments(new Term(ID, change.getKey().toString()));
+                    if (change.getValue()) {
+                        toIndex.add(change.getKey());
+                    }
+                }
+                if (!toIndex.isEmpty()) {
+                    for (OrderDescription description : orderRepository.findOrderDescriptionsByIdIn(toIndex)) {
+                        indexWriter.addDocument(document(description));
+                    }
+                }
+                searcherManager.maybeRefresh();
+            } catch (IOException | RuntimeException e) {
+                log.error("can not apply " + batch.size() + " order changes to text index", e);
+            }
+        }
+    }
+
+    private Map<Long, Boolean> nextBatch() {
+
+        Map<Long, Boolean> batch = new LinkedHashMap<>();
+        synchronized (pendingChanges) {
+            Iterator<Map.Entry<Long, Boolean>> changes = pendingChanges.entrySet().iterator();
+            while (changes.hasNext() && batch.size() < BATCH_SIZE) {
+                Map.Entry<Long, Boolean> change = changes.next();
+                batch.put(change.getKey(), change.getValue());
+                changes.remove();
+            }
+        }
+        return batch;
+    }
+
+    private long reindex() {
+
+        long indexed = readTransaction.execute(status -> {
+            try (Stream<OrderDescription> descriptions = orderRepository.streamOrderDescriptions()) {
+                indexWriter.deleteAll();
+
+                long count = 0;
+                for (Iterator<OrderDescription> iterator = descriptions.iterator(); iterator.hasNext(); count++) {
+                    indexWriter.addDocument(document(iterator.next()));
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        try {
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("order text index rebuilt with " + indexed + " orders");
+        return indexed;
+    }
+
+    private Document document(OrderDescription description) {
+        Document document = new Document();
+        document.add(new StringField(ID, description.getId().toString(), Field.Store.YES));
+        document.add(new TextField(DESCRIPTION, description.getDescription(), Field.Store.NO));
+        return document;
+    }
+
+    private void commit() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("can not commit order text index", e);
+        }
+    }
+}
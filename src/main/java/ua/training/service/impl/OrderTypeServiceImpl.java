@@ -1,10 +1,14 @@
 package ua.training.service.impl;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import ua.training.api.dto.OrderTypeDto;
 import ua.training.api.mapper.OrderTypeMapper;
 import ua.training.domain.order.OrderType;
+import ua.training.event.ReferenceDataChangedEvent;
 import ua.training.exception.OrderTypeNotFoundException;
 import ua.training.repository.OrderTypeRepository;
 import ua.training.service.OrderTypeService;
@@ -19,11 +23,19 @@ public class OrderTypeServiceImpl implements OrderTypeService {
     private final OrderTypeRepository orderTypeRepository;
     private final OrderTypeMapper orderTypeMapper;
 
+    private volatile ImmutableMap<Long, OrderType> orderTypes;
+
     public OrderTypeServiceImpl(OrderTypeRepository orderTypeRepository, OrderTypeMapper orderTypeMapper) {
         this.orderTypeRepository = orderTypeRepository;
         this.orderTypeMapper = orderTypeMapper;
     }
 
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        orderTypes = Maps.uniqueIndex(event.getOrderTypes(), OrderType::getId);
+        log.info("order types rebuilt for reference data version " + event.getVersion());
+    }
+
     @Override
     public List<OrderTypeDto> getAllOrderTypeDto() {
         return orderTypeRepository.findAll().stream()
@@ -33,6 +45,20 @@ public class OrderTypeServiceImpl implements OrderTypeService {
 
     @Override
     public OrderType getOrderTypeById(Long id) throws OrderTypeNotFoundException {
+
+        if (id == null) {
+            throw new OrderTypeNotFoundException("no order type with id=" + id);
+        }
+
+        ImmutableMap<Long, OrderType> types = orderTypes;
+        if (types != null) {
+            OrderType orderType = types.get(id);
+            if (orderType == null) {
+                throw new OrderTypeNotFoundException("no order type with id=" + id);
+            }
+            return orderType;
+        }
+
         return orderTypeRepository.findById(id)
                 .orElseThrow(() -> new OrderTypeNotFoundException("no order type with id=" + id));
     }
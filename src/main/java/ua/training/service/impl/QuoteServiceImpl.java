@@ -0,0 +1,178 @@
+package ua.training.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ua.training.api.dto.QuoteDto;
+import ua.training.api.dto.QuoteRequestDto;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.OrderType;
+import ua.training.event.ReferenceDataChangedEvent;
+import ua.training.exception.DestinationNotFoundException;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.OrderTypeNotFoundException;
+import ua.training.service.QuoteService;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+@Slf4j
+@Service
+@PropertySource("classpath:constants.properties")
+public class QuoteServiceImpl implements QuoteService {
+
+    @Value("${constants.BASE.PRICE}")
+    private Money BASE_PRICE;
+
+    @Value("${constants.WEIGHT.COEFFICIENT}")
+    private Money WEIGHT_COEFFICIENT;
+
+    @Value("${orders.quote.batch-max-size:1000}")
+    private int BATCH_MAX_SIZE;
+
+    private volatile PriceMatrix priceMatrix = new PriceMatrix(Collections.emptyList(), Collections.emptyList(),
+            Money.ZERO);
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        priceMatrix = new PriceMatrix(event.getDestinations(), event.getOrderTypes(), BASE_PRICE);
+        log.info("price matrix rebuilt for reference data version " + event.getVersion());
+    }
+
+    @Override
+    public QuoteDto quote(QuoteRequestDto quoteRequestDto)
+            throws InvalidRequestException, DestinationNotFoundException, OrderTypeNotFoundException {
+
+        if (quoteRequestDto == null) {
+            throw new InvalidRequestException("quote request must not be null");
+        }
+        return quote(priceMatrix, quoteRequestDto, 0);
+    }
+
+    @Override
+    public List<QuoteDto> quoteAll(List<QuoteRequestDto> quoteRequestDtos) throws InvalidRequestException {
+
+        if (quoteRequestDtos == null || quoteRequestDtos.isEmpty() || quoteRequestDtos.size() > BATCH_MAX_SIZE) {
+            throw new InvalidRequestException("quote request must contain between 1 and " + BATCH_MAX_SIZE + " items");
+        }
+
+        PriceMatrix matrix = priceMatrix;
+        List<QuoteDto> quotes = new ArrayList<>(quoteRequestDtos.size());
+
+        for (int index = 0; index < quoteRequestDtos.size(); index++) {
+            QuoteRequestDto quoteRequestDto = quoteRequestDtos.get(index);
+            try {
+                if (quoteRequestDto == null) {
+                    throw new InvalidRequestException("quote request must not be null");
+                }
+                quotes.add(quote(matrix, quoteRequestDto, index));
+            } catch (InvalidRequestException | DestinationNotFoundException | OrderTypeNotFoundException e) {
+                quotes.add(QuoteDto.builder()
+                        .index(index)
+                        .destinationCityFrom(quoteRequestDto == null ? null : quoteRequestDto.getDestinationCityFrom())
+                        .destinationCityTo(quoteRequestDto == null ? null : quoteRequestDto.getDestinationCityTo())
+                        .type(quoteRequestDto == null ? null : quoteRequestDto.getType())
+                        .weight(quoteRequestDto == null ? null : quoteRequestDto.getWeight())
+                        .error(e.getMessage())
+                        .build());
+            }
+        }
+        return quotes;
+    }
+
+    private QuoteDto quote(PriceMatrix matrix, QuoteRequestDto quoteRequestDto, int index)
+            throws DestinationNotFoundException, OrderTypeNotFoundException {
+
+        BigDecimal weight = quoteRequestDto.getWeight();
+        if (weight == null || weight.signum() <= 0) {
+            throw new InvalidRequestException("weight must be positive");
+        }
+
+        String cityFrom = quoteRequestDto.getDestinationCityFrom();
+        String cityTo = quoteRequestDto.getDestinationCityTo();
+
+        Integer route = matrix.routes.get(route(cityFrom, cityTo));
+        if (route == null) {
+            throw new DestinationNotFoundException("no destination : " + cityFrom + " - " + cityTo);
+        }
+        Integer orderType = matrix.orderTypes.get(parseId(quoteRequestDto.getType()));
+        if (orderType == null) {
+            throw new OrderTypeNotFoundException("no order type with id=" + quoteRequestDto.getType());
+        }
+
+        return QuoteDto.builder()
+                .index(index)
+                .destinationCityFrom(cityFrom)
+                .destinationCityTo(cityTo)
+                .type(quoteRequestDto.getType())
+                .weight(weight)
+                .shippingPriceInCents(Money.ofUnits(matrix.fixedPrice(route, orderType))
+                        .add(WEIGHT_COEFFICIENT.multiply(weight)))
+                .daysToDeliver(matrix.daysToDeliver[route])
+                .build();
+    }
+
+    private static Long parseId(String id) {
+        try {
+            return id == null ? null : Long.valueOf(id.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String route(String cityFrom, String cityTo) {
+        return cityFrom + '\u0000' + cityTo;
+    }
+
+    private static class PriceMatrix {
+
+        private final Map<String, Integer> routes = new HashMap<>();
+        private final Map<Long, Integer> orderTypes = new HashMap<>();
+        private final Long[] daysToDeliver;
+        private final long[] typePrices;
+        private final long[] fixedPrices;
+
+        PriceMatrix(List<Destination> destinations, List<OrderType> types, Money basePrice) {
+
+            List<Long> days = new ArrayList<>();
+            List<Money> destinationPrices = new ArrayList<>();
+            for (Destination destination : destinations) {
+                if (destination.getPriceInCents() == null) {
+                    continue;
+                }
+                String key = route(destination.getCityFrom(), destination.getCityTo());
+                if (!routes.containsKey(key)) {
+                    routes.put(key, routes.size());
+                    days.add(destination.getDaysToDeliver());
+                    destinationPrices.add(destination.getPriceInCents());
+                }
+            }
+            daysToDeliver = days.toArray(new Long[0]);
+
+            List<Long> prices = new ArrayList<>();
+            for (OrderType type : types) {
+                if (type.getPriceInCents() == null) {
+                    continue;
+                }
+                orderTypes.put(type.getId(), prices.size());
+                prices.add(type.getPriceInCents().add(basePrice).getUnits());
+            }
+            typePrices = prices.stream().mapToLong(Long::longValue).toArray();
+
+            fixedPrices = new long[routes.size() * typePrices.length];
+            for (int route = 0; route < routes.size(); route++) {
+                for (int type = 0; type < typePrices.length; type++) {
+                    fixedPrices[route * typePrices.length + type] = Math.addExact(
+                            destinationPrices.get(route).getUnits(), typePrices[type]);
+                }
+            }
+        }
+
+        long fixedPrice(int route, int orderType) {
+            return fixedPrices[route * typePrices.length + orderType];
+        }
+    }
+}
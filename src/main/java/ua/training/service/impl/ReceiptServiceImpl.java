@@ -16,7 +16,6 @@ import ua.training.service.ReceiptService;
 import ua.training.service.UserService;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -37,9 +36,7 @@ public class ReceiptServiceImpl implements ReceiptService {
 
     @Override
     public List<ReceiptDto> showAllChecks() {
-        return  receiptRepository.findAll().stream()
-                .map(receiptMapper::orderCheckToOrderCheckDto)
-                .collect(Collectors.toList());
+        return receiptRepository.findAllReceiptDto();
     }
 
 
@@ -52,10 +49,7 @@ public class ReceiptServiceImpl implements ReceiptService {
 
     @Override
     public List<ReceiptDto>  showChecksByUser(String login) {
-        return receiptRepository
-                .findAllByUser_Login(login).stream()
-                .map(receiptMapper.INSTANCE::orderCheckToOrderCheckDto)
-                .collect(Collectors.toList());
+        return receiptRepository.findReceiptDtoByUser_Login(login);
     }
 
     @Override
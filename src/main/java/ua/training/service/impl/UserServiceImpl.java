@@ -79,9 +79,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<UserDto> findAllUsers() {
-        return userRepository.findAll().stream()
-                .map(userMapper::userToUserDto)
-                .collect(Collectors.toList());
+        return userRepository.findAllUserDto();
     }
 
     @Override
@@ -0,0 +1,53 @@
+package ua.training.service.route;
+
+import lombok.Getter;
+import lombok.ToString;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+@ToString
+public class Route {
+
+    private final List<Destination> legs;
+    private final Money priceInCents;
+    private final long daysToDeliver;
+
+    public Route(List<Destination> legs) {
+
+        Money price = Money.ZERO;
+        long days = 0;
+        for (Destination leg : legs) {
+            price = price.add(leg.getPriceInCents());
+            days += leg.getDaysToDeliver() == null ? 0 : leg.getDaysToDeliver();
+        }
+
+        this.legs = Collections.unmodifiableList(new ArrayList<>(legs));
+        this.priceInCents = price;
+        this.daysToDeliver = days;
+    }
+
+    public String getCityFrom() {
+        return legs.get(0).getCityFrom();
+    }
+
+    public String getCityTo() {
+        return legs.get(legs.size() - 1).getCityTo();
+    }
+
+    public List<String> getCities() {
+
+        List<String> cities = new ArrayList<>(legs.size() + 1);
+        cities.add(getCityFrom());
+        legs.forEach(leg -> cities.add(leg.getCityTo()));
+        return cities;
+    }
+
+    public boolean isDirect() {
+        return legs.size() == 1;
+    }
+}
@@ -0,0 +1,157 @@
+package ua.training.service.route;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ua.training.domain.order.Destination;
+import ua.training.event.ReferenceDataChangedEvent;
+
+import java.util.*;
+
+@Slf4j
+@Component
+public class RoutePlanner {
+
+    private volatile RouteMatrix routeMatrix = new RouteMatrix(Collections.emptyList());
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+
+        long start = System.nanoTime();
+        RouteMatrix matrix = new RouteMatrix(event.getDestinations());
+        routeMatrix = matrix;
+        log.info("route matrix rebuilt for reference data version " + event.getVersion() + ": "
+                + matrix.cities.size() + " cities in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    public Optional<Route> findCheapestRoute(String cityFrom, String cityTo) {
+        RouteMatrix matrix = routeMatrix;
+        return matrix.find(matrix.cheapest, cityFrom, cityTo);
+    }
+
+    public Optional<Route> findFastestRoute(String cityFrom, String cityTo) {
+        RouteMatrix matrix = routeMatrix;
+        return matrix.find(matrix.fastest, cityFrom, cityTo);
+    }
+
+    private static class RouteMatrix {
+
+        private final Map<String, Integer> cities = new HashMap<>();
+        private final PathMatrix cheapest;
+        private final PathMatrix fastest;
+
+        RouteMatrix(List<Destination> destinations) {
+
+            List<Destination> edges = new ArrayList<>(destinations.size());
+            for (Destination destination : destinations) {
+                if (destination.getCityFrom() == null || destination.getCityTo() == null
+                        || destination.getPriceInCents() == null
+                        || destination.getCityFrom().equals(destination.getCityTo())) {
+                    continue;
+                }
+                cities.putIfAbsent(destination.getCityFrom(), cities.size());
+                cities.putIfAbsent(destination.getCityTo(), cities.size());
+                edges.add(destination);
+            }
+
+            cheapest = new PathMatrix(cities, edges, true);
+            fastest = new PathMatrix(cities, edges, false);
+        }
+
+        Optional<Route> find(PathMatrix paths, String cityFrom, String cityTo) {
+
+            Integer from = cityFrom == null ? null : cities.get(cityFrom);
+            Integer to = cityTo == null ? null : cities.get(cityTo);
+            if (from == null || to == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(paths.route(from, to));
+        }
+    }
+
+    private static class PathMatrix {
+
+        private static final long UNREACHABLE = Long.MAX_VALUE / 4;
+
+        private final int size;
+        private final long[] primary;
+        private final long[] secondary;
+        private final int[] next;
+        private final Destination[] edges;
+
+        PathMatrix(Map<String, Integer> cities, List<Destination> destinations, boolean byPrice) {
+
+            size = cities.size();
+            primary = new long[size * size];
+            secondary = new long[size * size];
+            next = new int[size * size];
+            edges = new Destination[size * size];
+
+            Arrays.fill(primary, UNREACHABLE);
+            Arrays.fill(secondary, UNREACHABLE);
+            Arrays.fill(next, -1);
+            for (int city = 0; city < size; city++) {
+                primary[city * size + city] = 0;
+                secondary[city * size + city] = 0;
+                next[city * size + city] = city;
+            }
+
+            for (Destination destination : destinations) {
+                int from = cities.get(destination.getCityFrom());
+                int to = cities.get(destination.getCityTo());
+                long price = destination.getPriceInCents().getUnits();
+                long days = destination.getDaysToDeliver() == null ? 0 : destination.getDaysToDeliver();
+
+                int path = from * size + to;
+                long first = byPrice ? price : days;
+                long second = byPrice ? days : price;
+                if (isBetter(first, second, path)) {
+                    primary[path] = first;
+                    secondary[path] = second;
+                    next[path] = to;
+                    edges[path] = destination;
+                }
+            }
+
+            for (int via = 0; via < size; via++) {
+                for (int from = 0; from < size; from++) {
+                    int toVia = from * size + via;
+                    if (primary[toVia] == UNREACHABLE || from == via) {
+                        continue;
+                    }
+                    for (int to = 0; to < size; to++) {
+                        int fromVia = via * size + to;
+                        if (primary[fromVia] == UNREACHABLE || to == via) {
+                            continue;
+                        }
+                        int path = from * size + to;
+                        long first = primary[toVia] + primary[fromVia];
+                        long second = secondary[toVia] + secondary[fromVia];
+                        if (isBetter(first, second, path)) {
+                            primary[path] = first;
+                            secondary[path] = second;
+                            next[path] = next[toVia];
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean isBetter(long first, long second, int path) {
+            return first < primary[path] || first == primary[path] && second < secondary[path];
+        }
+
+        Route route(int from, int to) {
+
+            if (from == to || next[from * size + to] < 0) {
+                return null;
+            }
+
+            List<Destination> legs = new ArrayList<>();
+            for (int city = from; city != to; city = next[city * size + to]) {
+                legs.add(edges[city * size + next[city * size + to]]);
+            }
+            return new Route(legs);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import ua.training.api.dto.BankCardDto;
+import ua.training.domain.order.Money;
 import ua.training.domain.user.BankCard;
 
 import java.math.BigDecimal;
@@ -37,7 +38,7 @@ class BankCardMapperTest {
         assertEquals(bankCardDto.getExpMonth(), EXP_MONTH);
         assertEquals(bankCardDto.getExpYear(), EXP_YEAR);
         assertEquals(bankCardDto.getCcv(), CCV);
-        assertEquals(bankCard.getBalance(), BigDecimal.ZERO);
+        assertEquals(bankCard.getBalance(), Money.ZERO);
     }
 
     @Test
@@ -56,6 +57,6 @@ class BankCardMapperTest {
         assertEquals(bankCard.getExpMonth(), EXP_MONTH);
         assertEquals(bankCard.getExpYear(), EXP_YEAR);
         assertEquals(bankCard.getCcv(), CCV);
-        assertEquals(bankCard.getBalance(), BALANCE);
+        assertEquals(bankCard.getBalance(), Money.of(BALANCE));
     }
 }
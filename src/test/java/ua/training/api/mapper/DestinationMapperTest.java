@@ -5,12 +5,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import ua.training.api.dto.DestinationDto;
 import ua.training.domain.order.Destination;
-
-import java.math.BigDecimal;
+import ua.training.domain.order.Money;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-
 @ExtendWith(SpringExtension.class)
 class DestinationMapperTest {
 
@@ -22,7 +20,7 @@ class DestinationMapperTest {
 
     final Long DAYS_TO_DELIVER = 12L;
 
-    final BigDecimal PRICE_IN_CENTS = BigDecimal.valueOf(33);
+    final Money PRICE_IN_CENTS = Money.of(33);
 
     @Test
     void destinationToDestinationDto() {
@@ -39,6 +37,6 @@ class DestinationMapperTest {
         assertEquals(destinationDto.getCityFrom(), destination.getCityFrom());
         assertEquals(destinationDto.getCityTo(), destination.getCityTo());
         assertEquals(destinationDto.getDaysToDeliver(), destination.getDaysToDeliver());
-        assertEquals(destinationDto.getPriceInCents(), destination.getPriceInCents());
+        assertEquals(destinationDto.getPriceInCents(), destination.getPriceInCents().toBigDecimal());
     }
 }
@@ -10,11 +10,13 @@ import ua.training.api.dto.OrderDto;
 import ua.training.api.dto.OrderTypeDto;
 import ua.training.api.dto.ReceiptDto;
 import ua.training.domain.order.*;
+import ua.training.repository.projection.OrderListRow;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -38,7 +40,7 @@ class OrderMapperTest {
 
     final String DELIVERY_DATE = LocalDate.of(2020, 4, 27).toString();;
 
-    final BigDecimal SHIPPING_PRICE_IN_CENTS = BigDecimal.valueOf(28);
+    final Money SHIPPING_PRICE_IN_CENTS = Money.of(28);
 
     @Mock
     ReceiptMapper receiptMapper;
@@ -92,7 +94,7 @@ class OrderMapperTest {
                 .status(Status.PAID)
                 .shippingDate(LocalDate.parse(SHIPPING_DATE))
                 .deliveryDate(LocalDate.parse(DELIVERY_DATE))
-                .shippingPriceInCents(BigDecimal.valueOf(28))
+                .shippingPriceInCents(Money.of(28))
                 .receipt(Receipt.builder().id(checkId).build())
                 .orderType(OrderType.builder().id(typeId).build())
                 .destination(Destination.builder().id(destinationId).build())
@@ -109,10 +111,53 @@ class OrderMapperTest {
         assertEquals(order.getStatus(), orderDto.getStatus());
         assertEquals(order.getShippingDate().toString(), orderDto.getShippingDate());
         assertEquals(order.getDeliveryDate().toString(), orderDto.getDeliveryDate());
-        assertEquals(order.getShippingPriceInCents(), orderDto.getShippingPriceInCents());
+        assertEquals(order.getShippingPriceInCents().toBigDecimal(), orderDto.getShippingPriceInCents());
         assertEquals(order.getReceipt().getId(), orderDto.getReceipt().getId());
         assertEquals(order.getOrderType().getId(), orderDto.getOrderType().getId());
         assertEquals(order.getDestination().getId(), orderDto.getDestination().getId());
 
     }
+
+    @Test
+    void orderListRowToOrderDto() {
+
+        OrderListRow row = new OrderListRow(ID, DESCRIPTION, WEIGHT, Status.PAID,
+                LocalDate.parse(SHIPPING_DATE), null, SHIPPING_PRICE_IN_CENTS,
+                4L, TYPE, Money.of(1),
+                7L, DESTINATION_CITY_FROM, DESTINATION_CITY_TO, 3L, Money.of(10),
+                2L, SHIPPING_PRICE_IN_CENTS, 5L, 6L, LocalDate.parse(SHIPPING_DATE));
+
+        OrderDto orderDto = OrderMapper.INSTANCE.orderListRowToOrderDto(row);
+
+        assertEquals(ID, orderDto.getId());
+        assertEquals(DESCRIPTION, orderDto.getDescription());
+        assertEquals(WEIGHT, orderDto.getWeight());
+        assertEquals(Status.PAID, orderDto.getStatus());
+        assertEquals(SHIPPING_DATE, orderDto.getShippingDate());
+        assertNull(orderDto.getDeliveryDate());
+        assertEquals(SHIPPING_PRICE_IN_CENTS.toBigDecimal(), orderDto.getShippingPriceInCents());
+        assertEquals(TYPE, orderDto.getOrderType().getName());
+        assertEquals(DESTINATION_CITY_FROM, orderDto.getDestination().getCityFrom());
+        assertEquals(DESTINATION_CITY_TO, orderDto.getDestination().getCityTo());
+        assertEquals(Long.valueOf(2L), orderDto.getReceipt().getId());
+        assertEquals(ID, orderDto.getReceipt().getOrderId());
+        assertEquals(Long.valueOf(5L), orderDto.getReceipt().getUserId());
+        assertEquals(Long.valueOf(6L), orderDto.getReceipt().getBankCard());
+    }
+
+    @Test
+    void orderListRowWithoutReceiptToOrderDto() {
+
+        OrderListRow row = new OrderListRow(ID, DESCRIPTION, WEIGHT, Status.NOT_PAID,
+                null, null, SHIPPING_PRICE_IN_CENTS,
+                4L, TYPE, Money.of(1),
+                7L, DESTINATION_CITY_FROM, DESTINATION_CITY_TO, 3L, Money.of(10),
+                null, null, null, null, null);
+
+        OrderDto orderDto = OrderMapper.INSTANCE.orderListRowToOrderDto(row);
+
+        assertNull(orderDto.getShippingDate());
+        assertNull(orderDto.getReceipt());
+        assertEquals(Long.valueOf(4L), orderDto.getOrderType().getId());
+    }
 }
@@ -4,10 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import ua.training.api.dto.OrderTypeDto;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.OrderType;
 
-import java.math.BigDecimal;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @ExtendWith(SpringExtension.class)
@@ -17,7 +16,7 @@ class OrderTypeMapperTest {
 
     final String NAME = "type";
 
-    final BigDecimal PRICE_IN_CENTS = BigDecimal.valueOf(22);
+    final Money PRICE_IN_CENTS = Money.of(22);
 
     @Test
     void orderTypeToOrderTypeDto() {
@@ -31,6 +30,6 @@ class OrderTypeMapperTest {
 
         assertEquals(orderTypeDto.getId(), orderType.getId());
         assertEquals(orderTypeDto.getName(), orderType.getName());
-        assertEquals(orderTypeDto.getPriceInCents(), orderType.getPriceInCents());
+        assertEquals(orderTypeDto.getPriceInCents(), orderType.getPriceInCents().toBigDecimal());
     }
 }
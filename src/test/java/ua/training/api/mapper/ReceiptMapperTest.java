@@ -4,17 +4,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import ua.training.api.dto.ReceiptDto;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Order;
 import ua.training.domain.order.Receipt;
 import ua.training.domain.user.BankCard;
 import ua.training.domain.user.User;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-
 @ExtendWith(SpringExtension.class)
 class ReceiptMapperTest {
 
@@ -22,7 +21,7 @@ class ReceiptMapperTest {
 
     final Long ORDER_ID = 3L;
 
-    final BigDecimal PRICE_IN_CENTS = BigDecimal.valueOf(67);
+    final Money PRICE_IN_CENTS = Money.of(67);
 
     final Long BANK_CARD = 7L;
 
@@ -40,7 +39,7 @@ class ReceiptMapperTest {
         ReceiptDto receiptDto = ReceiptMapper.INSTANCE.orderCheckToOrderCheckDto(receipt);
         assertEquals(receiptDto.getId(), receipt.getId());
         assertEquals(receiptDto.getOrderId(), receipt.getOrder().getId());
-        assertEquals(receiptDto.getPriceInCents(), receipt.getPriceInCents());
+        assertEquals(receiptDto.getPriceInCents(), receipt.getPriceInCents().toBigDecimal());
         assertEquals(receiptDto.getBankCard(), receipt.getBankCard().getId());
         assertEquals(receiptDto.getCreationDate(), receipt.getCreationDate());
         assertEquals(receiptDto.getUserId(), receipt.getUser().getId());
@@ -0,0 +1,76 @@
+package ua.training.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ua.training.domain.order.Money;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    BigDecimal weight = new BigDecimal("2.75");
+    long weightUnits = 275;
+    int weightScale = 2;
+
+    BigDecimal basePriceDecimal = new BigDecimal("5.00");
+    BigDecimal weightCoefficientDecimal = new BigDecimal("0.25");
+    BigDecimal destinationPriceDecimal = new BigDecimal("40.00");
+    BigDecimal typePriceDecimal = new BigDecimal("12.50");
+    BigDecimal balanceDecimal = new BigDecimal("150.00");
+
+    Money basePrice = Money.valueOf("5.00");
+    Money weightCoefficient = Money.valueOf("0.25");
+    Money destinationPrice = Money.valueOf("40.00");
+    Money typePrice = Money.valueOf("12.50");
+    Money balance = Money.valueOf("150.00");
+
+    @Benchmark
+    public BigDecimal calculatePriceBigDecimal() {
+        return destinationPriceDecimal.add(typePriceDecimal)
+                .add(weightCoefficientDecimal.multiply(weight))
+                .add(basePriceDecimal);
+    }
+
+    @Benchmark
+    public Money calculatePriceMoney() {
+        return destinationPrice.add(typePrice)
+                .add(weightCoefficient.multiply(weight))
+                .add(basePrice);
+    }
+
+    @Benchmark
+    public Money calculatePriceMoneyFixedPointWeight() {
+        return destinationPrice.add(typePrice)
+                .add(weightCoefficient.multiply(weightUnits, weightScale))
+                .add(basePrice);
+    }
+
+    @Benchmark
+    public boolean payBigDecimal() {
+        BigDecimal price = destinationPriceDecimal.add(typePriceDecimal).add(basePriceDecimal);
+        return balanceDecimal.compareTo(price) >= 0 && balanceDecimal.subtract(price).signum() >= 0;
+    }
+
+    @Benchmark
+    public boolean payMoney() {
+        Money price = destinationPrice.add(typePrice).add(basePrice);
+        return !balance.isLessThan(price) && balance.subtract(price).signum() >= 0;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -6,26 +6,53 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.training.api.dto.CacheStatisticsDto;
+import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.api.dto.OrderTypeStatisticsDto;
+import ua.training.api.dto.PageDto;
 import ua.training.api.dto.ReceiptDto;
+import ua.training.api.dto.RouteStatisticsDto;
+import ua.training.api.dto.StatisticsBucketDto;
 import ua.training.api.dto.StatisticsDto;
+import ua.training.domain.order.Status;
 import ua.training.exception.ControllerExceptionHandler;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.TooManyConnectionsException;
 import ua.training.service.AdminService;
+import ua.training.service.AnalyticsService;
+import ua.training.service.Granularity;
+import ua.training.service.OrderService;
+import ua.training.service.OrderStatusStreamService;
+import ua.training.service.OrderTextSearchService;
 import ua.training.service.ReceiptService;
+import ua.training.service.cache.ReferenceDataWatcher;
+import ua.training.service.cache.UserOrderCache;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +64,24 @@ class AdminControllerTest {
     @Mock
     ReceiptService receiptService;
 
+    @Mock
+    AnalyticsService analyticsService;
+
+    @Mock
+    OrderStatusStreamService orderStatusStreamService;
+
+    @Mock
+    OrderService orderService;
+
+    @Mock
+    OrderTextSearchService orderTextSearchService;
+
+    @Mock
+    UserOrderCache userOrderCache;
+
+    @Mock
+    ReferenceDataWatcher referenceDataWatcher;
+
     @InjectMocks
     AdminController controller;
 
@@ -134,6 +179,213 @@ class AdminControllerTest {
 
     }
 
+    @Test
+    void createRevenueStatistics() throws Exception {
+
+        List<StatisticsBucketDto> buckets = Arrays.asList(
+                StatisticsBucketDto.builder().build(),
+                StatisticsBucketDto.builder().build()
+        );
+
+        when(analyticsService.createRevenueStatistics(any(LocalDate.class), any(LocalDate.class),
+                any(Granularity.class))).thenReturn(buckets);
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/analytics")
+                .param("from", "2019-01-01")
+                .param("to", "2021-01-01")
+                .param("granularity", "YEAR")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(buckets.size())));
+
+        verify(analyticsService).createRevenueStatistics(LocalDate.of(2019, 1, 1), LocalDate.of(2021, 1, 1),
+                Granularity.YEAR);
+    }
+
+    @Test
+    void createRevenueStatisticsWrongRange() throws Exception {
+
+        when(analyticsService.createRevenueStatistics(any(LocalDate.class), any(LocalDate.class),
+                any(Granularity.class))).thenThrow(new InvalidRequestException("wrong range"));
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/analytics")
+                .param("from", "2021-01-01")
+                .param("to", "2019-01-01")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createRouteStatistics() throws Exception {
+
+        List<RouteStatisticsDto> routes = Arrays.asList(
+                RouteStatisticsDto.builder().build(),
+                RouteStatisticsDto.builder().build()
+        );
+
+        when(analyticsService.createRouteStatistics(any(LocalDate.class), any(LocalDate.class))).thenReturn(routes);
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/analytics/routes")
+                .param("from", "2020-01-01")
+                .param("to", "2020-02-01")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(routes.size())));
+
+        verify(analyticsService).createRouteStatistics(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1));
+    }
+
+    @Test
+    void createOrderTypeStatistics() throws Exception {
+
+        List<OrderTypeStatisticsDto> orderTypes = Arrays.asList(
+                OrderTypeStatisticsDto.builder().build(),
+                OrderTypeStatisticsDto.builder().build()
+        );
+
+        when(analyticsService.createOrderTypeStatistics(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(orderTypes);
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/analytics/order_types")
+                .param("from", "2020-01-01")
+                .param("to", "2020-02-01")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(orderTypes.size())));
+
+        verify(analyticsService).createOrderTypeStatistics(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1));
+    }
+
+    @Test
+    void searchOrders() throws Exception {
+
+        PageDto<OrderDto> page = PageDto.<OrderDto>builder()
+                .content(Arrays.asList(OrderDto.builder().build(), OrderDto.builder().build()))
+                .totalElements(2)
+                .build();
+
+        when(orderService.searchOrders(any(OrderSearchDto.class), isNull(), eq(0), eq(20), eq("id"),
+                eq(Sort.Direction.ASC))).thenReturn(page);
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/orders/search")
+                .param("cityFrom", "Kyiv")
+                .param("status", "PAID")
+                .param("shippingDateFrom", "2020-01-01")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)));
+
+        verify(orderService).searchOrders(argThat((OrderSearchDto search) -> "Kyiv".equals(search.getCityFrom())
+                        && Status.PAID == search.getStatus()
+                        && LocalDate.of(2020, 1, 1).equals(search.getShippingDateFrom())),
+                isNull(), eq(0), eq(20), eq("id"), eq(Sort.Direction.ASC));
+    }
+
+    @Test
+    void searchOrdersByText() throws Exception {
+
+        PageDto<OrderDto> page = PageDto.<OrderDto>builder()
+                .content(Arrays.asList(OrderDto.builder().build(), OrderDto.builder().build()))
+                .totalElements(2)
+                .build();
+
+        when(orderTextSearchService.search("fragile", 1, 2)).thenReturn(page);
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/orders/text_search")
+                .param("text", "fragile")
+                .param("page", "1")
+                .param("size", "2")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)));
+
+        verify(orderTextSearchService).search("fragile", 1, 2);
+    }
+
+    @Test
+    void rebuildOrderTextIndex() throws Exception {
+
+        when(orderTextSearchService.rebuildIndex()).thenReturn(3L);
+
+        mockMvc.perform(post(AdminController.BASE_URL + "/orders/text_search/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(3));
+
+        verify(orderTextSearchService).rebuildIndex();
+    }
+
+    @Test
+    void streamOrderEvents() throws Exception {
+
+        when(orderStatusStreamService.subscribeAdmin(null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/orders/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+        )
+                .andExpect(request().asyncStarted());
+
+        verify(orderStatusStreamService).subscribeAdmin(null);
+    }
+
+    @Test
+    void streamOrderEventsTooManyConnections() throws Exception {
+
+        when(orderStatusStreamService.subscribeAdmin(any())).thenThrow(new TooManyConnectionsException("full"));
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/orders/events"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void showOrderCacheStatistics() throws Exception {
+
+        when(userOrderCache.statistics()).thenReturn(CacheStatisticsDto.builder()
+                .hits(3)
+                .misses(1)
+                .hitRate(0.75)
+                .build());
+
+        mockMvc.perform(get(AdminController.BASE_URL + "/cache/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(3))
+                .andExpect(jsonPath("$.hitRate").value(0.75));
+
+        verify(userOrderCache).statistics();
+    }
+
+    @Test
+    void refreshReferenceData() throws Exception {
+
+        when(referenceDataWatcher.refresh()).thenReturn(4L);
+
+        mockMvc.perform(post(AdminController.BASE_URL + "/reference_data/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string("4"));
+
+        verify(referenceDataWatcher).refresh();
+    }
+
+    @Test
+    void rebuildStatistics() throws Exception {
+
+        mockMvc.perform(post(AdminController.BASE_URL + "/statistics/rebuild")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk());
+
+        verify(adminService).rebuildStatistics();
+    }
+
     @Test
     void showAllUserCheck() throws Exception {
 
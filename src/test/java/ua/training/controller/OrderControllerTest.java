@@ -1,39 +1,69 @@
 package ua.training.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import ua.training.api.dto.DestinationDto;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.training.api.dto.BulkOrderItemDto;
+import ua.training.api.dto.BulkOrderResultDto;
+import ua.training.api.dto.ImportJobDto;
+import ua.training.api.dto.KeysetPageDto;
 import ua.training.api.dto.OrderDto;
-import ua.training.api.dto.OrderTypeDto;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.api.dto.PageDto;
+import ua.training.api.dto.QuoteDto;
+import ua.training.api.dto.RouteDto;
+import ua.training.api.dto.RoutePlanDto;
+import ua.training.api.dto.QuoteRequestDto;
+import ua.training.domain.order.ImportStatus;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.Status;
 import ua.training.domain.user.Role;
 import ua.training.domain.user.User;
 import ua.training.exception.ControllerExceptionHandler;
+import ua.training.exception.DestinationNotFoundException;
+import ua.training.exception.ImportJobNotFoundException;
+import ua.training.exception.InvalidRequestException;
 import ua.training.exception.OrderCreateException;
 import ua.training.exception.OrderNotFoundException;
+import ua.training.service.BulkOrderService;
+import ua.training.service.CityAutocompleteService;
 import ua.training.service.DestinationService;
+import ua.training.service.OrderImportService;
 import ua.training.service.OrderService;
-import ua.training.service.OrderTypeService;
+import ua.training.service.OrderStatusStreamService;
+import ua.training.service.QuoteService;
+import ua.training.service.cache.ReferenceDataJsonCache;
+import ua.training.service.cache.UserVersionTracker;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 class OrderControllerTest extends AbstractRestControllerTest{
@@ -45,10 +75,31 @@ class OrderControllerTest extends AbstractRestControllerTest{
     Authentication mockPrincipal;
 
     @Mock
-    OrderTypeService orderTypeService;
+    DestinationService destinationService;
 
     @Mock
-    DestinationService destinationService;
+    OrderStatusStreamService orderStatusStreamService;
+
+    @Mock
+    BulkOrderService bulkOrderService;
+
+    @Mock
+    OrderImportService orderImportService;
+
+    @Mock
+    QuoteService quoteService;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    UserVersionTracker userVersionTracker = new UserVersionTracker();
+
+    @Mock
+    ReferenceDataJsonCache referenceDataJsonCache;
+
+    @Mock
+    CityAutocompleteService cityAutocompleteService;
 
     @InjectMocks
     OrderController controller;
@@ -99,6 +150,215 @@ class OrderControllerTest extends AbstractRestControllerTest{
         verify(orderService).findAllUserOrders(any());
     }
 
+    @Test
+    void showAllOrdersNotModified() throws Exception {
+
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/show/all")
+                .header(HttpHeaders.IF_NONE_MATCH, userVersionTracker.eTag("login"))
+                .principal(mockPrincipal)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(orderService, never()).findAllUserOrders(any());
+    }
+
+    @Test
+    void showAllOrdersModified() throws Exception {
+
+        when(orderService.findAllUserOrders(anyString())).thenReturn(orderListDto);
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        String eTag = userVersionTracker.eTag("login");
+        userVersionTracker.bump("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/all_orders")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .principal(mockPrincipal)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, userVersionTracker.eTag("login")))
+                .andExpect(jsonPath("$", hasSize(orderListDto.size())));
+
+        verify(orderService).findAllUserOrders("login");
+    }
+
+    @Test
+    void showOrdersPage() throws Exception {
+
+        KeysetPageDto<OrderDto> page = KeysetPageDto.<OrderDto>builder()
+                .content(orderListDto)
+                .nextCursor(3L)
+                .build();
+
+        when(orderService.findUserOrdersPage("login", EnumSet.of(Status.NOT_PAID), 10L, 3)).thenReturn(page);
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/show/not_paid")
+                .param("after", "10")
+                .param("size", "3")
+                .principal(mockPrincipal)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(orderListDto.size())))
+                .andExpect(jsonPath("$.nextCursor", equalTo(3)));
+
+        verify(orderService).findUserOrdersPage("login", EnumSet.of(Status.NOT_PAID), 10L, 3);
+    }
+
+    @Test
+    void getAllUserOrdersPage() throws Exception {
+
+        KeysetPageDto<OrderDto> page = KeysetPageDto.<OrderDto>builder()
+                .content(orderListDto)
+                .build();
+
+        when(orderService.findUserOrdersPage(eq("login"), anyCollection(), isNull(), eq(3))).thenReturn(page);
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/all_orders")
+                .param("size", "3")
+                .principal(mockPrincipal)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(orderListDto.size())));
+
+        verify(orderService).findUserOrdersPage("login", EnumSet.complementOf(EnumSet.of(Status.ARCHIVED)), null, 3);
+    }
+
+    @Test
+    void showOrdersPageWrongSize() throws Exception {
+
+        when(orderService.findUserOrdersPage(anyString(), anyCollection(), any(), anyInt()))
+                .thenThrow(new InvalidRequestException("wrong size"));
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/show/all")
+                .param("size", "0")
+                .principal(mockPrincipal)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findQueueOrders() throws Exception {
+
+        PageDto<OrderDto> page = PageDto.<OrderDto>builder()
+                .content(orderListDto)
+                .page(2)
+                .size(3)
+                .totalElements(10)
+                .totalPages(4)
+                .build();
+
+        when(orderService.findOrdersPageByStatus(Status.PAID, 2, 3, "weight", Sort.Direction.DESC)).thenReturn(page);
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/queue/paid")
+                .param("page", "2")
+                .param("size", "3")
+                .param("sort", "weight")
+                .param("direction", "DESC")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(orderListDto.size())))
+                .andExpect(jsonPath("$.totalElements", equalTo(10)));
+
+        verify(orderService).findOrdersPageByStatus(Status.PAID, 2, 3, "weight", Sort.Direction.DESC);
+    }
+
+    @Test
+    void searchUserOrders() throws Exception {
+
+        PageDto<OrderDto> page = PageDto.<OrderDto>builder()
+                .content(orderListDto)
+                .totalElements(orderListDto.size())
+                .build();
+
+        when(orderService.searchOrders(any(OrderSearchDto.class), eq("login"), eq(1), eq(5),
+                eq("shippingPriceInCents"), eq(Sort.Direction.DESC))).thenReturn(page);
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/search")
+                .param("priceFrom", "100")
+                .param("priceTo", "500")
+                .param("orderTypeId", "2")
+                .param("page", "1")
+                .param("size", "5")
+                .param("sort", "shippingPriceInCents")
+                .param("direction", "DESC")
+                .principal(mockPrincipal)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(orderListDto.size())));
+
+        verify(orderService).searchOrders(argThat((OrderSearchDto search) ->
+                        Long.valueOf(2L).equals(search.getOrderTypeId())
+                        && new BigDecimal("100").equals(search.getPriceFrom())
+                        && new BigDecimal("500").equals(search.getPriceTo())),
+                eq("login"), eq(1), eq(5), eq("shippingPriceInCents"), eq(Sort.Direction.DESC));
+    }
+
+    @Test
+    void findQueueOrdersUnknownQueue() throws Exception {
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/queue/archived")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void streamQueueOrders() throws Exception {
+
+        doAnswer(invocation -> {
+            Consumer<OrderDto> consumer = invocation.getArgument(1);
+            orderListDto.forEach(consumer);
+            return null;
+        }).when(orderService).streamOrdersByStatus(eq(Status.SHIPPED), any());
+
+        MvcResult mvcResult = mockMvc.perform(get(OrderController.BASE_URL + "/queue/shipped")
+                .accept(OrderController.APPLICATION_NDJSON_VALUE)
+        )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(OrderController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(orderListDto.size(), lines.length);
+        assertEquals(Long.valueOf(1L), objectMapper.readValue(lines[0], OrderDto.class).getId());
+    }
+
+    @Test
+    void streamUserOrderEvents() throws Exception {
+
+        when(orderStatusStreamService.subscribeUser("login", 5L)).thenReturn(new SseEmitter());
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/events")
+                .header("Last-Event-ID", "5")
+                .principal(mockPrincipal)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+        )
+                .andExpect(request().asyncStarted());
+
+        verify(orderStatusStreamService).subscribeUser("login", 5L);
+    }
+
     @Test
     void showNotPaidOrders() throws Exception {
 
@@ -181,6 +441,141 @@ class OrderControllerTest extends AbstractRestControllerTest{
         verify(orderService).getOrderDtoByIdAndUserId(anyLong(), anyString());
     }
 
+    @Test
+    void createNewOrders() throws Exception {
+
+        BulkOrderResultDto result = BulkOrderResultDto.builder()
+                .created(1)
+                .failed(1)
+                .items(Arrays.asList(
+                        BulkOrderItemDto.builder().index(0).orderId(5L).build(),
+                        BulkOrderItemDto.builder().index(1).error("no order type with id=7").build()))
+                .build();
+
+        when(bulkOrderService.createOrders(anyList(), eq("login"))).thenReturn(result);
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(post(OrderController.BASE_URL + "/bulk")
+                .principal(mockPrincipal)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(orderListDto))
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", equalTo(1)))
+                .andExpect(jsonPath("$.items[1].error", equalTo("no order type with id=7")));
+
+        verify(bulkOrderService).createOrders(argThat((List<OrderDto> orders) -> orders.size() == orderListDto.size()),
+                eq("login"));
+    }
+
+    @Test
+    void quoteOrder() throws Exception {
+
+        when(quoteService.quote(any())).thenReturn(QuoteDto.builder()
+                .shippingPriceInCents(Money.of(12))
+                .daysToDeliver(3L)
+                .build());
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/quote")
+                .param("destinationCityFrom", "from")
+                .param("destinationCityTo", "to")
+                .param("type", "1")
+                .param("weight", "2")
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shippingPriceInCents", equalTo(12.0)))
+                .andExpect(jsonPath("$.daysToDeliver", equalTo(3)));
+
+        verify(quoteService).quote(argThat(quote -> "from".equals(quote.getDestinationCityFrom())
+                && "1".equals(quote.getType()) && BigDecimal.valueOf(2).compareTo(quote.getWeight()) == 0));
+    }
+
+    @Test
+    void quoteOrderNotFound() throws Exception {
+
+        when(quoteService.quote(any())).thenThrow(new DestinationNotFoundException("no destination"));
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/quote")
+                .param("destinationCityFrom", "from")
+                .param("destinationCityTo", "nowhere")
+        )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void quoteOrders() throws Exception {
+
+        List<QuoteRequestDto> quoteRequestDtos = Arrays.asList(
+                QuoteRequestDto.builder().type("1").build(),
+                QuoteRequestDto.builder().type("7").build());
+
+        when(quoteService.quoteAll(anyList())).thenReturn(Arrays.asList(
+                QuoteDto.builder().index(0).shippingPriceInCents(Money.of(10)).build(),
+                QuoteDto.builder().index(1).error("no order type with id=7").build()));
+
+        mockMvc.perform(post(OrderController.BASE_URL + "/quote/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quoteRequestDtos))
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].error", equalTo("no order type with id=7")));
+
+        verify(quoteService).quoteAll(argThat((List<QuoteRequestDto> quotes) -> quotes.size() == 2));
+    }
+
+    @Test
+    void importOrders() throws Exception {
+
+        MockMultipartFile file = new MockMultipartFile("file", "orders.csv", "text/csv", "description".getBytes());
+
+        when(orderImportService.startImport(any(), eq("login"))).thenReturn(ImportJobDto.builder()
+                .jobId("job")
+                .status(ImportStatus.QUEUED)
+                .build());
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(multipart(OrderController.BASE_URL + "/import")
+                .file(file)
+                .principal(mockPrincipal)
+        )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId", equalTo("job")))
+                .andExpect(jsonPath("$.status", equalTo("QUEUED")));
+
+        verify(orderImportService).startImport(argThat((MultipartFile uploaded) ->
+                "orders.csv".equals(uploaded.getOriginalFilename())), eq("login"));
+    }
+
+    @Test
+    void showImportJob() throws Exception {
+
+        when(orderImportService.getImportJob("job", "login")).thenReturn(ImportJobDto.builder()
+                .jobId("job")
+                .status(ImportStatus.COMPLETED)
+                .createdOrders(10)
+                .build());
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/import/job")
+                .principal(mockPrincipal)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdOrders", equalTo(10)));
+    }
+
+    @Test
+    void showImportJobNotFound() throws Exception {
+
+        when(orderImportService.getImportJob("job", "login")).thenThrow(new ImportJobNotFoundException("no job"));
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/import/job")
+                .principal(mockPrincipal)
+        )
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void createNewOrder() throws Exception {
         when(mockPrincipal.getName()).thenReturn("login");
@@ -308,54 +703,132 @@ class OrderControllerTest extends AbstractRestControllerTest{
 
     @Test
     void findAllTypes() throws Exception {
-        List<OrderTypeDto> types = Arrays.asList(
-                new OrderTypeDto(),
-                new OrderTypeDto()
-        );
-        when(orderTypeService.getAllOrderTypeDto()).thenReturn(types);
+
+        when(referenceDataJsonCache.getTypes()).thenReturn(
+                new ReferenceDataJsonCache.Entry("[{},{}]".getBytes(StandardCharsets.UTF_8), "\"types\""));
+        when(referenceDataJsonCache.getMaxAgeSeconds()).thenReturn(60L);
 
         mockMvc.perform(get(OrderController.BASE_URL + "/types")
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(types.size())));
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"types\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, private"))
+                .andExpect(jsonPath("$", hasSize(2)));
 
-        verify(orderTypeService).getAllOrderTypeDto();
+        verify(referenceDataJsonCache).getTypes();
+    }
+
+    @Test
+    void findAllTypesNotModified() throws Exception {
+
+        when(referenceDataJsonCache.getTypes()).thenReturn(
+                new ReferenceDataJsonCache.Entry("[{},{}]".getBytes(StandardCharsets.UTF_8), "\"types\""));
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/types")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"types\"")
+        )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
     void findDestinationsFrom() throws Exception {
-        List<DestinationDto> destinationDtoList = Arrays.asList(
-                DestinationDto.builder().cityFrom("from1").build(),
-                DestinationDto.builder().cityFrom("from2").build()
-        );
 
-        when(destinationService.getAllDestinationDto()).thenReturn(destinationDtoList);
+        when(referenceDataJsonCache.getDestinationsFrom()).thenReturn(
+                new ReferenceDataJsonCache.Entry("[\"from1\",\"from2\"]".getBytes(StandardCharsets.UTF_8), "\"from\""));
 
         mockMvc.perform(get(OrderController.BASE_URL + "/destinations_from")
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(destinationDtoList.size())));
+                .andExpect(header().string(HttpHeaders.ETAG, "\"from\""))
+                .andExpect(jsonPath("$", hasSize(2)));
 
-        verify(destinationService).getAllDestinationDto();
+        verify(referenceDataJsonCache).getDestinationsFrom();
     }
 
     @Test
     void findDestinationsTo() throws Exception {
-        List<DestinationDto> destinationDtoList = Arrays.asList(
-                DestinationDto.builder().cityTo("to1").build(),
-                DestinationDto.builder().cityTo("to2").build()
-        );
 
-        when(destinationService.getAllDestinationDto()).thenReturn(destinationDtoList);
+        when(referenceDataJsonCache.getDestinationsTo()).thenReturn(
+                new ReferenceDataJsonCache.Entry("[\"to1\",\"to2\"]".getBytes(StandardCharsets.UTF_8), "\"to\""));
 
         mockMvc.perform(get(OrderController.BASE_URL + "/destinations_to")
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(destinationDtoList.size())));
+                .andExpect(header().string(HttpHeaders.ETAG, "\"to\""))
+                .andExpect(jsonPath("$[1]", equalTo("to2")));
 
-        verify(destinationService).getAllDestinationDto();
+        verify(referenceDataJsonCache).getDestinationsTo();
+    }
+
+    @Test
+    void planRoute() throws Exception {
+
+        when(destinationService.getRoutePlan("from", "to")).thenReturn(RoutePlanDto.builder()
+                .cityFrom("from")
+                .cityTo("to")
+                .cheapest(RouteDto.builder().cities(Arrays.asList("from", "via", "to"))
+                        .priceInCents(Money.of(15)).daysToDeliver(3L).build())
+                .fastest(RouteDto.builder().cities(Arrays.asList("from", "to"))
+                        .priceInCents(Money.of(40)).daysToDeliver(1L).build())
+                .build());
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/routes")
+                .param("from", "from")
+                .param("to", "to")
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cheapest.cities", hasSize(3)))
+                .andExpect(jsonPath("$.cheapest.priceInCents", equalTo(15.0)))
+                .andExpect(jsonPath("$.fastest.daysToDeliver", equalTo(1)));
+
+        verify(destinationService).getRoutePlan("from", "to");
+    }
+
+    @Test
+    void planRouteNotFound() throws Exception {
+
+        when(destinationService.getRoutePlan(anyString(), anyString()))
+                .thenThrow(new DestinationNotFoundException("no destination : from - to"));
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/routes")
+                .param("from", "from")
+                .param("to", "to")
+        )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void completeCity() throws Exception {
+
+        when(cityAutocompleteService.complete("ки", "from", 5)).thenReturn(Arrays.asList("Київ", "Кривий Ріг"));
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/cities")
+                .param("prefix", "ки")
+                .param("direction", "from")
+                .param("limit", "5")
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", equalTo("Київ")));
+
+        verify(cityAutocompleteService).complete("ки", "from", 5);
+    }
+
+    @Test
+    void completeCityWrongDirection() throws Exception {
+
+        when(cityAutocompleteService.complete(anyString(), anyString(), isNull()))
+                .thenThrow(new InvalidRequestException("no city direction sideways"));
+
+        mockMvc.perform(get(OrderController.BASE_URL + "/cities")
+                .param("prefix", "K")
+                .param("direction", "sideways")
+        )
+                .andExpect(status().isBadRequest());
     }
 }
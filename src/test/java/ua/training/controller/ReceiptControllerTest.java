@@ -5,7 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
@@ -14,6 +16,7 @@ import ua.training.api.dto.ReceiptDto;
 import ua.training.domain.user.Role;
 import ua.training.domain.user.User;
 import ua.training.exception.ControllerExceptionHandler;
+import ua.training.service.cache.UserVersionTracker;
 import ua.training.service.impl.ReceiptServiceImpl;
 
 import java.util.Arrays;
@@ -22,6 +25,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -34,6 +38,9 @@ class ReceiptControllerTest extends AbstractRestControllerTest{
     @Mock
     ReceiptServiceImpl receiptService;
 
+    @Spy
+    UserVersionTracker userVersionTracker = new UserVersionTracker();
+
     @InjectMocks
     ReceiptController controller;
 
@@ -83,6 +90,21 @@ class ReceiptControllerTest extends AbstractRestControllerTest{
         verify(receiptService).showChecksByUser(anyString());
     }
 
+    @Test
+    void showAllUserCheckNotModified() throws Exception {
+
+        when(mockPrincipal.getName()).thenReturn("login");
+
+        mockMvc.perform(get(ReceiptController.BASE_URL)
+                .header(HttpHeaders.IF_NONE_MATCH, userVersionTracker.eTag("login"))
+                .principal(mockPrincipal)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isNotModified());
+
+        verify(receiptService, never()).showChecksByUser(anyString());
+    }
+
     @Test
     void showCheck() throws Exception {
 
@@ -0,0 +1,90 @@
+package ua.training.domain.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void arithmetic() {
+
+        Money price = Money.of(5).add(Money.valueOf("1.25")).subtract(Money.valueOf("0.50"));
+
+        assertEquals(575L, price.getUnits());
+        assertEquals(Money.valueOf("-5.75"), price.negate());
+        assertEquals(Money.valueOf("1.44"), Money.valueOf("0.25").multiply(new BigDecimal("5.75")));
+        assertTrue(Money.of(1).isLessThan(Money.of(2)));
+        assertEquals(1, price.signum());
+    }
+
+    @Test
+    void roundsToCents() {
+
+        assertEquals(Money.valueOf("0.13"), Money.of(new BigDecimal("0.125")));
+        assertEquals(Money.valueOf("0.12"), Money.of(new BigDecimal("0.1249")));
+        assertEquals(Money.of(3), Money.of(new BigDecimal("3.000")));
+        assertNull(Money.of((BigDecimal) null));
+    }
+
+    @Test
+    void multiplyRoundsHalfUp() {
+
+        assertEquals(Money.valueOf("0.69"), Money.valueOf("0.25").multiply(new BigDecimal("2.75")));
+        assertEquals(Money.valueOf("-0.69"), Money.valueOf("-0.25").multiply(new BigDecimal("2.75")));
+        assertEquals(Money.valueOf("0.68"), Money.valueOf("0.25").multiply(new BigDecimal("2.7399")));
+        assertEquals(Money.valueOf("7.50"), Money.valueOf("0.25").multiply(new BigDecimal("30")));
+        assertEquals(Money.valueOf("2500"), Money.valueOf("0.25").multiply(new BigDecimal("1E+4")));
+        assertEquals(Money.valueOf("0.69"), Money.valueOf("0.25").multiply(275, 2));
+    }
+
+    @Test
+    void multiplyFallsBackOnOverflow() {
+
+        Money large = Money.ofUnits(Long.MAX_VALUE / 10);
+
+        assertEquals(Money.of(large.toBigDecimal().multiply(new BigDecimal("3.000000001"))),
+                large.multiply(new BigDecimal("3.000000001")));
+        assertEquals(large, large.multiply(new BigDecimal("1.00000000000000000000")));
+    }
+
+    @Test
+    void overflow() {
+
+        assertThrows(ArithmeticException.class,
+                () -> {
+                    Money.ofUnits(Long.MAX_VALUE).add(Money.ofUnits(1));
+                });
+    }
+
+    @Test
+    void toBigDecimal() {
+
+        assertEquals(new BigDecimal("12.50"), Money.valueOf("12.5").toBigDecimal());
+        assertEquals("12.50", Money.valueOf("12.5").toString());
+    }
+
+    @Test
+    void converter() {
+
+        MoneyConverter converter = new MoneyConverter();
+
+        assertEquals(new BigDecimal("7.25"), converter.convertToDatabaseColumn(Money.valueOf("7.25")));
+        assertEquals(Money.valueOf("7.25"), converter.convertToEntityAttribute(new BigDecimal("7.25")));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void json() throws Exception {
+
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("7.25", objectMapper.writeValueAsString(Money.valueOf("7.25")));
+        assertEquals(Money.valueOf("7.25"), objectMapper.readValue("7.25", Money.class));
+        assertEquals(Money.of(7), objectMapper.readValue("7", Money.class));
+    }
+}
@@ -0,0 +1,70 @@
+package ua.training.repository;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ua.training.domain.order.Money;
+import ua.training.domain.user.BankCard;
+import ua.training.domain.user.Role;
+import ua.training.domain.user.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.initialization-mode=never"
+})
+class BankCardRepositoryTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    BankCardRepository bankCardRepository;
+
+    Long userId;
+
+    @BeforeEach
+    void setUp() {
+
+        userId = entityManager.persistAndGetId(User.builder()
+                .login("login")
+                .email("login@gmail.com")
+                .role(Role.ROLE_USER)
+                .build(), Long.class);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void addUserCardDoesNotInitializeUserCards() {
+
+        User user = entityManager.find(User.class, userId);
+
+        BankCard bankCard = bankCardRepository.saveAndFlush(BankCard.builder()
+                .id(1111222233334444L)
+                .balance(Money.of(10))
+                .build());
+
+        assertFalse(bankCardRepository.existsByIdAndUsers_Id(bankCard.getId(), userId));
+
+        bankCardRepository.addUserCard(userId, bankCard.getId());
+
+        assertFalse(Hibernate.isInitialized(user.getCards()));
+        assertTrue(bankCardRepository.existsByIdAndUsers_Id(bankCard.getId(), userId));
+
+        entityManager.clear();
+        List<BankCard> cards = bankCardRepository.findBankCardByUsers(entityManager.find(User.class, userId));
+
+        assertEquals(1, cards.size());
+        assertEquals(bankCard.getId(), cards.get(0).getId());
+    }
+}
@@ -0,0 +1,131 @@
+package ua.training.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.Order;
+import ua.training.domain.order.OrderType;
+import ua.training.domain.order.Status;
+import ua.training.domain.user.Role;
+import ua.training.domain.user.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.initialization-mode=never",
+        "orders.bulk.batch-size=2"
+})
+@Import(OrderBatchRepository.class)
+class OrderBatchRepositoryTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    OrderBatchRepository orderBatchRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    User user;
+
+    OrderType orderType;
+
+    Destination destination;
+
+    @BeforeEach
+    void setUp() {
+
+        user = entityManager.persist(User.builder()
+                .login("login")
+                .email("login@gmail.com")
+                .role(Role.ROLE_USER)
+                .build());
+
+        orderType = entityManager.persist(OrderType.builder()
+                .name("type")
+                .priceInCents(Money.of(1))
+                .build());
+
+        destination = entityManager.persist(Destination.builder()
+                .cityFrom("from")
+                .cityTo("to")
+                .priceInCents(Money.of(1))
+                .build());
+
+        entityManager.flush();
+    }
+
+    @Test
+    void insertAllAssignsGeneratedIds() {
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(Order.builder()
+                    .description("parcel " + i)
+                    .owner(user)
+                    .orderType(orderType)
+                    .destination(destination)
+                    .status(Status.NOT_PAID)
+                    .weight(BigDecimal.ONE)
+                    .shippingDate(LocalDate.of(2020, 1, 1))
+                    .shippingPriceInCents(Money.of(10))
+                    .build());
+        }
+
+        assertTrue(orderBatchRepository.insertAll(orders).isEmpty());
+        entityManager.clear();
+
+        for (Order order : orders) {
+            Order saved = orderRepository.findById(order.getId()).orElseThrow(IllegalStateException::new);
+
+            assertEquals(order.getDescription(), saved.getDescription());
+            assertEquals("login", saved.getOwner().getLogin());
+            assertEquals(Status.NOT_PAID, saved.getStatus());
+            assertNull(saved.getDeliveryDate());
+        }
+        assertEquals(5, orderRepository.findByOwner_LoginAndStatusNot("login", Status.ARCHIVED).size());
+    }
+
+    @Test
+    void insertAllReportsRejectedOrders() {
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(Order.builder()
+                    .description(i == 3 ? String.join("", Collections.nCopies(300, "x")) : "parcel " + i)
+                    .owner(user)
+                    .orderType(orderType)
+                    .destination(destination)
+                    .status(Status.NOT_PAID)
+                    .weight(BigDecimal.ONE)
+                    .shippingDate(LocalDate.of(2020, 1, 1))
+                    .shippingPriceInCents(Money.of(10))
+                    .build());
+        }
+
+        Map<Integer, DataIntegrityViolationException> failures = orderBatchRepository.insertAll(orders);
+        entityManager.clear();
+
+        assertEquals(Collections.singleton(3), failures.keySet());
+        assertNull(orders.get(3).getId());
+        for (int i : new int[]{0, 1, 2, 4}) {
+            assertTrue(orderRepository.findById(orders.get(i).getId()).isPresent());
+        }
+        assertEquals(4, orderRepository.findByOwner_LoginAndStatusNot("login", Status.ARCHIVED).size());
+    }
+}
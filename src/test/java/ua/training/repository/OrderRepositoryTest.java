@@ -0,0 +1,261 @@
+package ua.training.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.Order;
+import ua.training.domain.order.OrderType;
+import ua.training.domain.order.Receipt;
+import ua.training.domain.order.Status;
+import ua.training.domain.user.BankCard;
+import ua.training.domain.user.Role;
+import ua.training.domain.user.User;
+import ua.training.repository.projection.OrderListRow;
+import ua.training.repository.specification.OrderSpecifications;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.initialization-mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderRepositoryTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    final List<Status> STATUSES = Arrays.asList(
+            Status.NOT_PAID,
+            Status.ARCHIVED,
+            Status.PAID,
+            Status.ARCHIVED,
+            Status.DELIVERED,
+            Status.NOT_PAID,
+            Status.ARCHIVED
+    );
+
+    @BeforeEach
+    void setUp() {
+
+        User user = entityManager.persist(User.builder()
+                .login("login")
+                .email("login@gmail.com")
+                .role(Role.ROLE_USER)
+                .build());
+
+        User otherUser = entityManager.persist(User.builder()
+                .login("other")
+                .email("other@gmail.com")
+                .role(Role.ROLE_USER)
+                .build());
+
+        BankCard bankCard = entityManager.persist(BankCard.builder()
+                .id(1111222233334444L)
+                .balance(Money.of(10))
+                .build());
+
+        long id = 1;
+        for (Status status : STATUSES) {
+            OrderType orderType = entityManager.persist(OrderType.builder()
+                    .name("type" + id)
+                    .priceInCents(Money.of(1))
+                    .build());
+            Destination destination = entityManager.persist(Destination.builder()
+                    .cityFrom("from" + id)
+                    .cityTo("to" + id)
+                    .priceInCents(Money.of(1))
+                    .build());
+            Receipt receipt = status == Status.NOT_PAID ? null : entityManager.persist(Receipt.builder()
+                    .user(user)
+                    .bankCard(bankCard)
+                    .priceInCents(Money.of(1))
+                    .creationDate(LocalDate.of(2020, 1, 1))
+                    .build());
+
+            entityManager.persist(Order.builder()
+                    .owner(user)
+                    .status(status)
+                    .orderType(orderType)
+                    .destination(destination)
+                    .receipt(receipt)
+                    .weight(BigDecimal.ONE)
+                    .shippingDate(LocalDate.of(2020, 1, (int) id))
+                    .shippingPriceInCents(Money.of(id))
+                    .build());
+            id++;
+        }
+        entityManager.persist(Order.builder()
+                .owner(otherUser)
+                .status(Status.NOT_PAID)
+                .weight(BigDecimal.ONE)
+                .build());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findByOwner_LoginAndStatusNot() {
+
+        List<Order> result = orderRepository.findByOwner_LoginAndStatusNot("login", Status.ARCHIVED);
+
+        assertEquals(STATUSES.stream().filter(status -> status != Status.ARCHIVED).count(), result.size());
+        result.forEach(order -> {
+            assertEquals("login", order.getOwner().getLogin());
+            assertNotEquals(Status.ARCHIVED, order.getStatus());
+        });
+    }
+
+    @Test
+    void findByOwner_LoginAndStatusInAndIdGreaterThan() {
+
+        List<Order> firstPage = orderRepository.findByOwner_LoginAndStatusInAndIdGreaterThanOrderByIdAsc("login",
+                EnumSet.of(Status.NOT_PAID, Status.PAID), 0L, PageRequest.of(0, 2));
+
+        assertEquals(Arrays.asList(Status.NOT_PAID, Status.PAID), firstPage.stream()
+                .map(Order::getStatus)
+                .collect(Collectors.toList()));
+
+        List<Order> secondPage = orderRepository.findByOwner_LoginAndStatusInAndIdGreaterThanOrderByIdAsc("login",
+                EnumSet.of(Status.NOT_PAID, Status.PAID), firstPage.get(1).getId(), PageRequest.of(0, 2));
+
+        assertEquals(1, secondPage.size());
+        assertEquals(Status.NOT_PAID, secondPage.get(0).getStatus());
+    }
+
+    @Test
+    void findOrderListRowsByStatus() {
+
+        List<OrderListRow> paid = orderRepository.findOrderListRowsByStatus(Status.PAID);
+
+        assertEquals(1, paid.size());
+        assertEquals("type3", paid.get(0).getOrderTypeName());
+        assertEquals("from3", paid.get(0).getDestinationCityFrom());
+        assertEquals(Long.valueOf(1111222233334444L), paid.get(0).getReceiptBankCardId());
+
+        List<OrderListRow> notPaid = orderRepository.findOrderListRowsByStatus(Status.NOT_PAID);
+
+        assertEquals(3, notPaid.size());
+        assertNull(notPaid.get(0).getReceiptId());
+    }
+
+    @Test
+    void findOrderListRowsByStatusPage() {
+
+        Page<OrderListRow> page = orderRepository.findOrderListRowsByStatus(Status.ARCHIVED,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        assertEquals("type2", page.getContent().get(0).getOrderTypeName());
+    }
+
+    @Test
+    void searchByCriteria() {
+
+        OrderSearchDto search = OrderSearchDto.builder()
+                .shippingDateFrom(LocalDate.of(2020, 1, 2))
+                .shippingDateTo(LocalDate.of(2020, 1, 6))
+                .priceTo(BigDecimal.valueOf(5))
+                .status(Status.ARCHIVED)
+                .build();
+
+        Page<Order> page = orderRepository.findAll(OrderSpecifications.matches(search, "login"),
+                PageRequest.of(0, 1, Sort.by("id")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals("type2", page.getContent().get(0).getOrderType().getName());
+
+        Page<Order> byCity = orderRepository.findAll(OrderSpecifications.matches(OrderSearchDto.builder()
+                .cityFrom("from3")
+                .cityTo("to3")
+                .build(), null), PageRequest.of(0, 10));
+
+        assertEquals(1, byCity.getTotalElements());
+        assertEquals(Status.PAID, byCity.getContent().get(0).getStatus());
+
+        assertEquals(0, orderRepository.findAll(OrderSpecifications.matches(search, "other"),
+                PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void listingsUseSingleQuery() {
+
+        assertEquals(1, countQueries(() -> orderRepository.findByOwner_LoginAndStatusNot("login", Status.ARCHIVED)));
+        assertEquals(1, countQueries(() -> orderRepository.findByStatusAndOwner_Login(Status.ARCHIVED, "login")));
+        assertEquals(1, countQueries(() -> orderRepository.findOrderByStatus(Status.PAID)));
+        assertEquals(1, countQueries(() -> orderRepository.findByOwner_LoginAndStatusInAndIdGreaterThanOrderByIdAsc(
+                "login", EnumSet.allOf(Status.class), 0L, PageRequest.of(0, STATUSES.size()))));
+    }
+
+    @Test
+    void saveOrderDoesNotInitializeOwnerOrders() {
+
+        User user = entityManager.getEntityManager()
+                .createQuery("select u from User u where u.login = 'other'", User.class)
+                .getSingleResult();
+
+        Order order = orderRepository.saveAndFlush(Order.builder()
+                .status(Status.NOT_PAID)
+                .weight(BigDecimal.ONE)
+                .build()
+                .saveOrder(user));
+
+        assertFalse(Hibernate.isInitialized(user.getOrders()));
+        assertEquals(user.getId(), order.getOwner().getId());
+
+        entityManager.clear();
+        assertEquals(2, orderRepository.findByOwner_LoginAndStatusNot("other", Status.ARCHIVED).size());
+        assertTrue(orderRepository.findById(order.getId()).isPresent());
+    }
+
+    private long countQueries(Supplier<List<Order>> listing) {
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Order> orders = listing.get();
+        orders.forEach(order -> {
+            order.getOrderType().getName();
+            order.getDestination().getCityFrom();
+            order.getOwner().getLogin();
+            if (order.getReceipt() != null) {
+                order.getReceipt().getOrder().getId();
+                order.getReceipt().getUser().getLogin();
+                order.getReceipt().getBankCard().getBalance();
+            }
+        });
+
+        entityManager.clear();
+        assertFalse(orders.isEmpty());
+        return statistics.getPrepareStatementCount();
+    }
+}
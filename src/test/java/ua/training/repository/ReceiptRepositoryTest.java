@@ -0,0 +1,193 @@
+package ua.training.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ua.training.api.dto.ReceiptDto;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.Order;
+import ua.training.domain.order.OrderType;
+import ua.training.domain.order.Receipt;
+import ua.training.domain.order.Status;
+import ua.training.domain.user.Role;
+import ua.training.domain.user.User;
+
+import javax.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.initialization-mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReceiptRepositoryTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    ReceiptRepository receiptRepository;
+
+    final List<LocalDate> CREATION_DATES = Arrays.asList(
+            LocalDate.of(2019, 12, 31),
+            LocalDate.of(2020, 1, 1),
+            LocalDate.of(2020, 1, 31),
+            LocalDate.of(2020, 2, 1),
+            LocalDate.of(2020, 2, 29),
+            LocalDate.of(2020, 6, 15),
+            LocalDate.of(2020, 12, 31),
+            LocalDate.of(2021, 1, 1)
+    );
+
+    @BeforeEach
+    void setUp() {
+
+        User user = entityManager.persist(User.builder()
+                .login("login")
+                .email("login@gmail.com")
+                .role(Role.ROLE_USER)
+                .build());
+
+        OrderType orderType = entityManager.persist(OrderType.builder()
+                .name("type")
+                .priceInCents(Money.of(1))
+                .build());
+
+        Destination destination = entityManager.persist(Destination.builder()
+                .cityFrom("from")
+                .cityTo("to")
+                .priceInCents(Money.of(1))
+                .build());
+
+        long price = 1;
+        for (LocalDate creationDate : CREATION_DATES) {
+            Receipt receipt = entityManager.persist(Receipt.builder()
+                    .user(user)
+                    .priceInCents(Money.of(price++))
+                    .creationDate(creationDate)
+                    .build());
+
+            entityManager.persist(Order.builder()
+                    .owner(user)
+                    .orderType(orderType)
+                    .destination(destination)
+                    .receipt(receipt)
+                    .status(Status.PAID)
+                    .weight(BigDecimal.ONE)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void ordersByCreationYear() {
+
+        for (int year = 2018; year <= 2022; year++) {
+            assertEquals(functionQuery("select count (e) from Receipt e where year(e.creationDate) = :year",
+                    Long.class, year, null), receiptRepository.ordersByCreationYear(year));
+        }
+    }
+
+    @Test
+    void ordersByCreationMonthsAndYear() {
+
+        for (int year = 2019; year <= 2021; year++) {
+            for (int month = 1; month <= 12; month++) {
+                assertEquals(functionQuery("select count (e) from Receipt e " +
+                                "where month(e.creationDate) = :month and year(e.creationDate) = :year",
+                        Long.class, year, month), receiptRepository.ordersByCreationMonthsAndYear(month, year));
+            }
+        }
+    }
+
+    @Test
+    void earningsByCreationYear() {
+
+        for (int year = 2018; year <= 2022; year++) {
+            assertEquals(functionQuery("select sum (e.priceInCents) from Receipt e where year(e.creationDate) = :year",
+                    Money.class, year, null), receiptRepository.earningsByCreationYear(year));
+        }
+    }
+
+    @Test
+    void earningsByCreationMonthsAndYear() {
+
+        for (int year = 2019; year <= 2021; year++) {
+            for (int month = 1; month <= 12; month++) {
+                assertEquals(functionQuery("select sum (e.priceInCents) from Receipt e " +
+                                "where month(e.creationDate) = :month and year(e.creationDate) = :year",
+                        Money.class, year, month), receiptRepository.earningsByCreationMonthsAndYear(month, year));
+            }
+        }
+    }
+
+    @Test
+    void findReceiptDtoByUser_Login() {
+
+        List<ReceiptDto> receipts = receiptRepository.findReceiptDtoByUser_Login("login");
+
+        assertEquals(CREATION_DATES.size(), receipts.size());
+        for (int i = 0; i < receipts.size(); i++) {
+            assertEquals(CREATION_DATES.get(i), receipts.get(i).getCreationDate());
+            assertEquals(Money.of(i + 1).toBigDecimal(), receipts.get(i).getPriceInCents());
+            assertNotNull(receipts.get(i).getOrderId());
+            assertNotNull(receipts.get(i).getUserId());
+        }
+        assertEquals(receipts.size(), receiptRepository.findAllReceiptDto().size());
+        assertTrue(receiptRepository.findReceiptDtoByUser_Login("other").isEmpty());
+    }
+
+    @Test
+    void listingsUseSingleQuery() {
+
+        assertEquals(1, countQueries(() -> receiptRepository.findAll()));
+        assertEquals(1, countQueries(() -> receiptRepository.findAllByUser_Login("login")));
+    }
+
+    private long countQueries(Supplier<List<Receipt>> listing) {
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Receipt> receipts = listing.get();
+        receipts.forEach(receipt -> {
+            receipt.getUser().getLogin();
+            receipt.getOrder().getOrderType().getName();
+            receipt.getOrder().getDestination().getCityFrom();
+            receipt.getOrder().getOwner().getLogin();
+        });
+
+        entityManager.clear();
+        assertEquals(CREATION_DATES.size(), receipts.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private <T> T functionQuery(String query, Class<T> resultClass, Integer year, Integer month) {
+
+        TypedQuery<T> typedQuery = entityManager.getEntityManager()
+                .createQuery(query, resultClass)
+                .setParameter("year", year);
+
+        if (month != null) {
+            typedQuery.setParameter("month", month);
+        }
+
+        return typedQuery.getSingleResult();
+    }
+}
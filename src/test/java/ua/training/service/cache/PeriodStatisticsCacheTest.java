@@ -0,0 +1,97 @@
+package ua.training.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PeriodStatisticsCacheTest {
+
+    final long TTL_SECONDS = 60;
+    final long CACHE_SIZE = 16;
+
+    final LocalDate FROM = LocalDate.of(2020, 1, 1);
+    final LocalDate TO = LocalDate.of(2020, 2, 1);
+
+    @Test
+    void getReusesReport() {
+
+        PeriodStatisticsCache cache = new PeriodStatisticsCache(TTL_SECONDS, CACHE_SIZE);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<String> first = cache.get("routes", FROM, TO, () -> load(loads));
+        List<String> second = cache.get("routes", FROM, TO, () -> load(loads));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getSeparatesReportsAndPeriods() {
+
+        PeriodStatisticsCache cache = new PeriodStatisticsCache(TTL_SECONDS, CACHE_SIZE);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("routes", FROM, TO, () -> load(loads));
+        cache.get("orderTypes", FROM, TO, () -> load(loads));
+        cache.get("routes", FROM, TO.plusDays(1), () -> load(loads));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void getAfterReceiptCreated() {
+
+        PeriodStatisticsCache cache = new PeriodStatisticsCache(TTL_SECONDS, CACHE_SIZE);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("routes", FROM, TO, () -> load(loads));
+        cache.onReceiptCreated(null);
+        cache.get("routes", FROM, TO, () -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadRunningDuringInvalidationIsNotReused() {
+
+        PeriodStatisticsCache cache = new PeriodStatisticsCache(TTL_SECONDS, CACHE_SIZE);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("routes", FROM, TO, () -> {
+            List<String> stale = load(loads);
+            cache.invalidate();
+            return stale;
+        });
+        cache.get("routes", FROM, TO, () -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getFailedLoadIsNotCached() {
+
+        PeriodStatisticsCache cache = new PeriodStatisticsCache(TTL_SECONDS, CACHE_SIZE);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> {
+                    cache.get("routes", FROM, TO, () -> {
+                        throw new IllegalArgumentException("broken");
+                    });
+                });
+
+        cache.get("routes", FROM, TO, () -> load(loads));
+
+        assertEquals(1, loads.get());
+    }
+
+    private List<String> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return Collections.singletonList("route");
+    }
+}
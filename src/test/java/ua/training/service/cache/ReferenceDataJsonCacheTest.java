@@ -0,0 +1,100 @@
+package ua.training.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ua.training.api.dto.DestinationDto;
+import ua.training.api.dto.OrderTypeDto;
+import ua.training.api.mapper.DestinationMapper;
+import ua.training.api.mapper.OrderTypeMapper;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.OrderType;
+import ua.training.event.ReferenceDataChangedEvent;
+import ua.training.service.DestinationService;
+import ua.training.service.OrderTypeService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataJsonCacheTest {
+
+    @Mock
+    OrderTypeService orderTypeService;
+
+    @Mock
+    DestinationService destinationService;
+
+    @Spy
+    OrderTypeMapper orderTypeMapper = OrderTypeMapper.INSTANCE;
+
+    @Spy
+    DestinationMapper destinationMapper = DestinationMapper.INSTANCE;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    ReferenceDataJsonCache cache;
+
+    @Test
+    void loadsFromServicesOnce() {
+
+        when(orderTypeService.getAllOrderTypeDto()).thenReturn(Collections.singletonList(
+                OrderTypeDto.builder().id(1L).name("box").build()));
+        when(destinationService.getAllDestinationDto()).thenReturn(Arrays.asList(
+                DestinationDto.builder().cityFrom("Київ").cityTo("Львів").build(),
+                DestinationDto.builder().cityFrom("Київ").cityTo("Одеса").build(),
+                DestinationDto.builder().cityFrom("Львів").cityTo("Київ").build()));
+
+        assertEquals("[\"Київ\",\"Львів\"]", body(cache.getDestinationsFrom()));
+        assertEquals("[\"Львів\",\"Одеса\",\"Київ\"]", body(cache.getDestinationsTo()));
+        assertTrue(body(cache.getTypes()).contains("\"name\":\"box\""));
+        assertSame(cache.getTypes(), cache.getTypes());
+
+        verify(orderTypeService).getAllOrderTypeDto();
+        verify(destinationService).getAllDestinationDto();
+    }
+
+    @Test
+    void referenceDataChangeRegeneratesETags() {
+
+        cache.onReferenceDataChanged(event(1L, "Київ", Money.of(1)));
+        ReferenceDataJsonCache.Entry types = cache.getTypes();
+        ReferenceDataJsonCache.Entry destinationsFrom = cache.getDestinationsFrom();
+
+        assertTrue(types.getETag().startsWith("\""));
+        assertTrue(types.getETag().endsWith("\""));
+
+        cache.onReferenceDataChanged(event(2L, "Київ", Money.of(2)));
+
+        assertNotEquals(types.getETag(), cache.getTypes().getETag());
+        assertEquals(destinationsFrom.getETag(), cache.getDestinationsFrom().getETag());
+
+        cache.onReferenceDataChanged(event(3L, "Львів", Money.of(2)));
+
+        assertNotEquals(destinationsFrom.getETag(), cache.getDestinationsFrom().getETag());
+        assertEquals("[\"Львів\"]", body(cache.getDestinationsFrom()));
+
+        verifyNoInteractions(orderTypeService, destinationService);
+    }
+
+    private ReferenceDataChangedEvent event(long version, String cityFrom, Money typePrice) {
+        return new ReferenceDataChangedEvent(version,
+                Collections.singletonList(Destination.builder().id(1L).cityFrom(cityFrom).cityTo("Одеса").build()),
+                Collections.singletonList(OrderType.builder().id(1L).name("box").priceInCents(typePrice).build()));
+    }
+
+    private String body(ReferenceDataJsonCache.Entry entry) {
+        return new String(entry.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,92 @@
+package ua.training.service.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.OrderType;
+import ua.training.event.ReferenceDataChangedEvent;
+import ua.training.repository.DestinationRepository;
+import ua.training.repository.OrderTypeRepository;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataWatcherTest {
+
+    @Mock
+    DestinationRepository destinationRepository;
+
+    @Mock
+    OrderTypeRepository orderTypeRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    ReferenceDataWatcher watcher;
+
+    @Test
+    void pollPublishesOnlyChanges() {
+
+        Destination destination = Destination.builder().id(1L).cityFrom("from").cityTo("to")
+                .priceInCents(Money.of(1)).build();
+
+        when(destinationRepository.findAll(any(Sort.class))).thenReturn(Collections.singletonList(destination));
+        when(orderTypeRepository.findAll(any(Sort.class)))
+                .thenReturn(Collections.singletonList(OrderType.builder().id(1L).build()));
+
+        watcher.load();
+        watcher.poll();
+
+        assertEquals(1L, watcher.getVersion());
+
+        destination.setPriceInCents(Money.of(10));
+        watcher.poll();
+
+        ArgumentCaptor<ReferenceDataChangedEvent> captor = ArgumentCaptor.forClass(ReferenceDataChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+
+        assertEquals(2L, captor.getValue().getVersion());
+        assertEquals(Money.of(10), captor.getValue().getDestinations().get(0).getPriceInCents());
+    }
+
+    @Test
+    void pollComparesRowValues() {
+
+        Destination destination = Destination.builder().id(1L).cityFrom("from").cityTo("Aa")
+                .priceInCents(Money.of(1)).build();
+
+        when(destinationRepository.findAll(any(Sort.class))).thenReturn(Collections.singletonList(destination));
+        when(orderTypeRepository.findAll(any(Sort.class))).thenReturn(Collections.emptyList());
+
+        watcher.load();
+        destination.setCityTo("BB");
+        watcher.poll();
+
+        assertEquals(2L, watcher.getVersion());
+        verify(eventPublisher, times(2)).publishEvent(any(ReferenceDataChangedEvent.class));
+    }
+
+    @Test
+    void refreshAlwaysPublishes() {
+
+        when(destinationRepository.findAll(any(Sort.class))).thenReturn(Collections.emptyList());
+        when(orderTypeRepository.findAll(any(Sort.class))).thenReturn(Collections.emptyList());
+
+        watcher.load();
+
+        assertEquals(2L, watcher.refresh());
+        verify(eventPublisher, times(2)).publishEvent(any(ReferenceDataChangedEvent.class));
+    }
+}
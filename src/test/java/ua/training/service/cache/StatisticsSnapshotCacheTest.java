@@ -0,0 +1,136 @@
+package ua.training.service.cache;
+
+import org.junit.jupiter.api.Test;
+import ua.training.api.dto.StatisticsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsSnapshotCacheTest {
+
+    final long TTL_SECONDS = 60;
+
+    @Test
+    void getReusesSnapshot() {
+
+        StatisticsSnapshotCache cache = new StatisticsSnapshotCache(TTL_SECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        StatisticsDto first = cache.get(() -> load(loads));
+        StatisticsDto second = cache.get(() -> load(loads));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getAfterInvalidate() {
+
+        StatisticsSnapshotCache cache = new StatisticsSnapshotCache(TTL_SECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        StatisticsDto first = cache.get(() -> load(loads));
+        cache.onReceiptCreated(null);
+        StatisticsDto second = cache.get(() -> load(loads));
+
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAfterStatisticsRebuilt() {
+
+        StatisticsSnapshotCache cache = new StatisticsSnapshotCache(TTL_SECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(() -> load(loads));
+        cache.onStatisticsRebuilt(null);
+        cache.get(() -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAfterTtl() {
+
+        StatisticsSnapshotCache cache = new StatisticsSnapshotCache(0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(() -> load(loads));
+        cache.get(() -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getFailedLoadIsNotCached() {
+
+        StatisticsSnapshotCache cache = new StatisticsSnapshotCache(TTL_SECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class,
+                () -> {
+                    cache.get(() -> {
+                        throw new IllegalStateException("db is down");
+                    });
+                });
+
+        assertNotNull(cache.get(() -> load(loads)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getConcurrentCallersShareOneLoad() throws Exception {
+
+        final int CALLERS = 8;
+
+        StatisticsSnapshotCache cache = new StatisticsSnapshotCache(TTL_SECONDS);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<StatisticsDto>> results = new ArrayList<>();
+
+            results.add(executor.submit(() -> cache.get(() -> {
+                loading.countDown();
+                await(release);
+                return load(loads);
+            })));
+
+            loading.await();
+
+            for (int i = 1; i < CALLERS; i++) {
+                results.add(executor.submit(() -> cache.get(() -> load(loads))));
+            }
+
+            release.countDown();
+
+            StatisticsDto expected = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<StatisticsDto> result : results) {
+                assertSame(expected, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private StatisticsDto load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return StatisticsDto.builder().build();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ua.training.service.cache;
+
+import org.junit.jupiter.api.Test;
+import ua.training.api.dto.OrderDto;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserOrderCacheTest {
+
+    final long TTL_SECONDS = 60;
+    final long MAX_USERS = 2;
+    final long MAX_ENTRIES_PER_USER = 2;
+
+    @Test
+    void getListReusesOrders() {
+
+        UserOrderCache cache = new UserOrderCache(TTL_SECONDS, MAX_USERS, MAX_ENTRIES_PER_USER);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<OrderDto> first = cache.getList("login", "all", () -> load(loads));
+        List<OrderDto> second = cache.getList("login", "all", () -> load(loads));
+        cache.getList("login", "NOT_PAID", () -> load(loads));
+        cache.getList("other", "all", () -> load(loads));
+
+        assertSame(first, second);
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.statistics().getHits());
+        assertEquals(3, cache.statistics().getMisses());
+        assertThrows(UnsupportedOperationException.class,
+                () -> {
+                    first.add(OrderDto.builder().build());
+                });
+    }
+
+    @Test
+    void invalidateOwner() {
+
+        UserOrderCache cache = new UserOrderCache(TTL_SECONDS, MAX_USERS, MAX_ENTRIES_PER_USER);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getList("login", "all", () -> load(loads));
+        cache.getOrder("other", 1L, () -> OrderDto.builder().id(1L).build());
+
+        cache.invalidate("login");
+        cache.getList("login", "all", () -> load(loads));
+
+        cache.invalidate("login");
+        cache.getList("login", "all", () -> load(loads));
+
+        cache.invalidate("login");
+        cache.getList("login", "all", () -> load(loads));
+
+        assertEquals(4, loads.get());
+        assertEquals(3, cache.statistics().getInvalidations());
+        assertEquals(Long.valueOf(1L), cache.getOrder("other", 1L, () -> {
+            throw new IllegalStateException("other user should stay cached");
+        }).getId());
+    }
+
+    @Test
+    void sizeLimitEvictsUsers() {
+
+        UserOrderCache cache = new UserOrderCache(TTL_SECONDS, MAX_USERS, MAX_ENTRIES_PER_USER);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (String login : new String[]{"first", "second", "third", "fourth"}) {
+            cache.getList(login, "all", () -> load(loads));
+        }
+
+        assertTrue(cache.statistics().getUsers() <= MAX_USERS);
+        assertTrue(cache.statistics().getEvictions() > 0);
+    }
+
+    @Test
+    void loaderExceptionIsNotCached() {
+
+        UserOrderCache cache = new UserOrderCache(TTL_SECONDS, MAX_USERS, MAX_ENTRIES_PER_USER);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> {
+                    cache.getOrder("login", 1L, () -> {
+                        throw new IllegalArgumentException("no order");
+                    });
+                });
+
+        assertEquals(Long.valueOf(1L), cache.getOrder("login", 1L, () -> OrderDto.builder().id(1L).build()).getId());
+    }
+
+    private List<OrderDto> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return Collections.singletonList(OrderDto.builder().build());
+    }
+}
@@ -0,0 +1,47 @@
+package ua.training.service.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ua.training.domain.order.Status;
+import ua.training.event.OrderDeletedEvent;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.event.ReceiptCreatedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserOrderChangeListenerTest {
+
+    @Mock
+    UserOrderCache userOrderCache;
+
+    @Mock
+    UserVersionTracker userVersionTracker;
+
+    @InjectMocks
+    UserOrderChangeListener listener;
+
+    @Test
+    void invalidatesCacheBeforeBumpingVersion() {
+
+        listener.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "login", Status.PAID, Status.SHIPPED));
+        listener.onReceiptCreated(new ReceiptCreatedEvent(1L, "other", LocalDate.of(2020, 1, 1), BigDecimal.ONE));
+        listener.onOrderDeleted(new OrderDeletedEvent(1L, "login"));
+
+        InOrder inOrder = inOrder(userOrderCache, userVersionTracker);
+        inOrder.verify(userOrderCache).invalidate("login");
+        inOrder.verify(userVersionTracker).bump("login");
+        inOrder.verify(userOrderCache).invalidate("other");
+        inOrder.verify(userVersionTracker).bump("other");
+        inOrder.verify(userOrderCache).invalidate("login");
+        inOrder.verify(userVersionTracker).bump("login");
+        inOrder.verifyNoMoreInteractions();
+    }
+}
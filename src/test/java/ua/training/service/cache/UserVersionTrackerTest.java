@@ -0,0 +1,41 @@
+package ua.training.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserVersionTrackerTest {
+
+    @Test
+    void eTagStableWithoutChanges() {
+
+        UserVersionTracker tracker = new UserVersionTracker();
+
+        assertEquals(tracker.eTag("login"), tracker.eTag("login"));
+        assertTrue(tracker.eTag("login").startsWith("\""));
+        assertTrue(tracker.eTag("login").endsWith("\""));
+    }
+
+    @Test
+    void bumpChangesOnlyOwner() {
+
+        UserVersionTracker tracker = new UserVersionTracker();
+
+        String login = tracker.eTag("login");
+        String other = tracker.eTag("other");
+
+        tracker.bump("login");
+        String shipped = tracker.eTag("login");
+
+        tracker.bump("login");
+        String paid = tracker.eTag("login");
+
+        tracker.bump("login");
+        tracker.bump(null);
+
+        assertNotEquals(login, shipped);
+        assertNotEquals(shipped, paid);
+        assertNotEquals(paid, tracker.eTag("login"));
+        assertEquals(other, tracker.eTag("other"));
+    }
+}
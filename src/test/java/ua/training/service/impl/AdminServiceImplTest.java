@@ -2,23 +2,41 @@ package ua.training.service.impl;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ua.training.api.dto.StatisticsDto;
 import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Order;
+import ua.training.domain.order.ReceiptMonthlyRollup;
 import ua.training.domain.order.Status;
+import ua.training.domain.user.User;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.event.StatisticsRebuiltEvent;
 import ua.training.exception.OrderNotFoundException;
 import ua.training.repository.OrderRepository;
+import ua.training.repository.ReceiptMonthlyRollupRepository;
 import ua.training.repository.ReceiptRepository;
+import ua.training.repository.projection.MonthlyReceiptStatistics;
+import ua.training.service.cache.StatisticsSnapshotCache;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +48,15 @@ class AdminServiceImplTest {
     @Mock
     ReceiptRepository receiptRepository;
 
+    @Mock
+    ReceiptMonthlyRollupRepository receiptMonthlyRollupRepository;
+
+    @Mock
+    StatisticsSnapshotCache statisticsSnapshotCache;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     AdminServiceImpl service;
 
@@ -41,6 +68,7 @@ class AdminServiceImplTest {
         Optional<Order> order = Optional.ofNullable(Order.builder()
                 .id(ID)
                 .status(Status.PAID)
+                .owner(User.builder().login("login").build())
                 .destination(Destination.builder().daysToDeliver(3L).build()).build());
 
         when(orderRepository.findById(anyLong())).thenReturn(order);
@@ -51,6 +79,9 @@ class AdminServiceImplTest {
         assertNotNull(order.get().getDeliveryDate());
         assertEquals(order.get().getStatus(), Status.SHIPPED);
 
+        verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+                event.getOrderId().equals(ID) && event.getOwnerLogin().equals("login")
+                        && event.getPreviousStatus() == Status.PAID && event.getStatus() == Status.SHIPPED));
     }
 
     @Test
@@ -74,6 +105,7 @@ class AdminServiceImplTest {
         assertNull(order.get().getDeliveryDate());
         assertEquals(order.get().getStatus(), Status.NOT_PAID);
 
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -84,6 +116,7 @@ class AdminServiceImplTest {
         Optional<Order> order = Optional.ofNullable(Order.builder()
                 .id(ID)
                 .status(Status.SHIPPED)
+                .owner(User.builder().login("login").build())
                 .destination(Destination.builder().daysToDeliver(3L).build()).build());
 
         when(orderRepository.findById(anyLong())).thenReturn(order);
@@ -91,6 +124,10 @@ class AdminServiceImplTest {
         service.deliverOrder(ID);
 
         assertEquals(order.get().getStatus(), Status.DELIVERED);
+
+        verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+                event.getOrderId().equals(ID) && event.getOwnerLogin().equals("login")
+                        && event.getPreviousStatus() == Status.SHIPPED && event.getStatus() == Status.DELIVERED));
     }
 
     @Test
@@ -111,6 +148,8 @@ class AdminServiceImplTest {
                 });
 
         assertEquals(order.get().getStatus(), Status.NOT_PAID);
+
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -121,6 +160,7 @@ class AdminServiceImplTest {
         Optional<Order> order = Optional.ofNullable(Order.builder()
                 .id(ID)
                 .status(Status.DELIVERED)
+                .owner(User.builder().login("login").build())
                 .destination(Destination.builder().daysToDeliver(3L).build()).build());
 
         when(orderRepository.findById(anyLong())).thenReturn(order);
@@ -128,6 +168,10 @@ class AdminServiceImplTest {
         service.receiveOrder(ID);
 
         assertEquals(order.get().getStatus(), Status.RECEIVED);
+
+        verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+                event.getOrderId().equals(ID) && event.getOwnerLogin().equals("login")
+                        && event.getPreviousStatus() == Status.DELIVERED && event.getStatus() == Status.RECEIVED));
     }
 
     @Test
@@ -148,38 +192,101 @@ class AdminServiceImplTest {
                 });
 
         assertEquals(order.get().getStatus(), Status.NOT_PAID);
+
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void createStatisticsDto() {
 
-        final Long ORDER_NUMBER = 2L;
-        final BigDecimal EARNINGS = BigDecimal.valueOf(45);
+        final int YEAR = LocalDate.now().getYear();
+        final int MONTH = LocalDate.now().getMonthValue();
 
-        BigDecimal earningsLastMonth = BigDecimal.valueOf(12);
-        BigDecimal earningsYear = BigDecimal.valueOf(34);
-        Long deliversNumber = 14L;
-        Long deliversNumberYear = 5L;
+        List<ReceiptMonthlyRollup> rollups = Collections.singletonList(ReceiptMonthlyRollup.builder()
+                .creationYear(YEAR)
+                .creationMonth(MONTH)
+                .ordersNumber(14L)
+                .earnings(BigDecimal.valueOf(12))
+                .build());
 
-        when(receiptRepository.earningsByCreationMonthsAndYear(anyInt(), anyInt())).thenReturn(earningsLastMonth);
-        when(receiptRepository.earningsByCreationYear(anyInt())).thenReturn(earningsYear);
-        when(receiptRepository.ordersByCreationYear(anyInt())).thenReturn(deliversNumberYear);
-        when(receiptRepository.ordersByCreationMonthsAndYear(anyInt(), anyInt())).thenReturn(deliversNumber);
+        when(receiptMonthlyRollupRepository.findByCreationYear(anyInt())).thenReturn(rollups);
+        when(statisticsSnapshotCache.get(any())).thenAnswer(invocation ->
+                invocation.<Supplier<StatisticsDto>>getArgument(0).get());
 
         StatisticsDto result = service.createStatisticsDto();
 
-        assertEquals(earningsLastMonth, result.getEarningsLastMonth());
-        assertEquals(earningsYear, result.getEarningsYear());
-        assertEquals(deliversNumber, result.getDeliversNumber());
-        assertEquals(deliversNumberYear, result.getDeliversNumberYear());
-        assertNotNull(result.getEarningsOfOrdersByForYear());
-        assertNotNull(result.getNumberOfOrdersByForYear());
+        assertEquals(BigDecimal.valueOf(12), result.getEarningsLastMonth());
+        assertEquals(BigDecimal.valueOf(12), result.getEarningsYear());
+        assertEquals(Long.valueOf(14L), result.getDeliversNumber());
+        assertEquals(Long.valueOf(14L), result.getDeliversNumberYear());
+        assertEquals(12, result.getEarningsOfOrdersByForYear().size());
+        assertEquals(12, result.getNumberOfOrdersByForYear().size());
 
-        //12 month + 1
-        verify(receiptRepository, times(13)).earningsByCreationMonthsAndYear(anyInt(), anyInt());
-        verify(receiptRepository, times(13)).ordersByCreationMonthsAndYear(anyInt(), anyInt());
+        verify(statisticsSnapshotCache).get(any());
+        verify(receiptMonthlyRollupRepository).findByCreationYear(YEAR);
+        verifyNoInteractions(receiptRepository);
+    }
+
+    @Test
+    void rebuildStatistics() {
+
+        List<MonthlyReceiptStatistics> statistics = Arrays.asList(
+                monthlyStatistics(2019, 12, 3L, Money.of(30)),
+                monthlyStatistics(2020, 1, 4L, Money.of(40))
+        );
+
+        when(receiptRepository.statisticsByCreationMonth()).thenReturn(statistics);
+
+        service.rebuildStatistics();
+
+        InOrder inOrder = inOrder(receiptRepository, receiptMonthlyRollupRepository);
+        inOrder.verify(receiptRepository).statisticsByCreationMonth();
+        inOrder.verify(receiptMonthlyRollupRepository).deleteAllInBatch();
+        inOrder.verify(receiptMonthlyRollupRepository).saveAll(argThat((Iterable<ReceiptMonthlyRollup> rollups) -> {
+            List<ReceiptMonthlyRollup> list = new ArrayList<>();
+            rollups.forEach(list::add);
+            return list.size() == 2
+                    && list.get(1).getCreationYear() == 2020
+                    && list.get(1).getOrdersNumber() == 4L;
+        }));
+        verify(eventPublisher).publishEvent(argThat((StatisticsRebuiltEvent event) -> event.getMonths() == 2));
+        verifyNoInteractions(statisticsSnapshotCache);
+    }
+
+    @Test
+    void backfillStatisticsSkipped() {
+
+        when(receiptRepository.count()).thenReturn(3L);
+        when(receiptMonthlyRollupRepository.count()).thenReturn(5L);
+
+        service.backfillStatistics();
+
+        verify(receiptMonthlyRollupRepository, never()).deleteAllInBatch();
+        verify(receiptRepository, never()).statisticsByCreationMonth();
+    }
 
-        verify(receiptRepository).earningsByCreationYear(anyInt());
-        verify(receiptRepository).ordersByCreationYear(anyInt());
+    private MonthlyReceiptStatistics monthlyStatistics(Integer year, Integer month, Long ordersNumber,
+                                                       Money earnings) {
+        return new MonthlyReceiptStatistics() {
+            @Override
+            public Integer getCreationYear() {
+                return year;
+            }
+
+            @Override
+            public Integer getCreationMonth() {
+                return month;
+            }
+
+            @Override
+            public Long getOrdersNumber() {
+                return ordersNumber;
+            }
+
+            @Override
+            public Money getEarnings() {
+                return earnings;
+            }
+        };
     }
 }
@@ -0,0 +1,261 @@
+package ua.training.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.training.api.dto.OrderTypeStatisticsDto;
+import ua.training.api.dto.RouteStatisticsDto;
+import ua.training.api.dto.StatisticsBucketDto;
+import ua.training.domain.order.Money;
+import ua.training.exception.InvalidRequestException;
+import ua.training.repository.ReceiptRepository;
+import ua.training.repository.projection.DailyReceiptStatistics;
+import ua.training.repository.projection.OrderTypeRevenueStatistics;
+import ua.training.repository.projection.RouteRevenueStatistics;
+import ua.training.service.Granularity;
+import ua.training.service.cache.PeriodStatisticsCache;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceImplTest {
+
+    @Mock
+    ReceiptRepository receiptRepository;
+
+    @Mock
+    PeriodStatisticsCache periodStatisticsCache;
+
+    @InjectMocks
+    AnalyticsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "MAX_PERIODS", 100L);
+    }
+
+    @Test
+    void createRevenueStatisticsByMonth() {
+
+        final LocalDate FROM = LocalDate.of(2020, 1, 15);
+        final LocalDate TO = LocalDate.of(2020, 4, 1);
+
+        when(receiptRepository.streamStatisticsByCreationDateBetween(FROM, TO)).thenReturn(Stream.of(
+                dailyStatistics(LocalDate.of(2020, 1, 20), 2L, Money.of(10)),
+                dailyStatistics(LocalDate.of(2020, 1, 31), 1L, Money.of(5)),
+                dailyStatistics(LocalDate.of(2020, 3, 1), 4L, Money.of(20))
+        ));
+
+        List<StatisticsBucketDto> result = service.createRevenueStatistics(FROM, TO, Granularity.MONTH);
+
+        assertEquals(3, result.size());
+
+        assertEquals(FROM, result.get(0).getPeriodStart());
+        assertEquals(LocalDate.of(2020, 2, 1), result.get(0).getPeriodEnd());
+        assertEquals(Long.valueOf(3L), result.get(0).getOrdersNumber());
+        assertEquals(Money.of(15).toBigDecimal(), result.get(0).getEarnings());
+
+        assertEquals(Long.valueOf(0L), result.get(1).getOrdersNumber());
+        assertEquals(Money.ZERO.toBigDecimal(), result.get(1).getEarnings());
+
+        assertEquals(LocalDate.of(2020, 3, 1), result.get(2).getPeriodStart());
+        assertEquals(TO, result.get(2).getPeriodEnd());
+        assertEquals(Long.valueOf(4L), result.get(2).getOrdersNumber());
+
+        verify(receiptRepository).streamStatisticsByCreationDateBetween(FROM, TO);
+    }
+
+    @Test
+    void createRevenueStatisticsByWeek() {
+
+        final LocalDate FROM = LocalDate.of(2020, 6, 3);
+        final LocalDate TO = LocalDate.of(2020, 6, 17);
+
+        when(receiptRepository.streamStatisticsByCreationDateBetween(FROM, TO)).thenReturn(Stream.of(
+                dailyStatistics(LocalDate.of(2020, 6, 7), 1L, Money.of(1)),
+                dailyStatistics(LocalDate.of(2020, 6, 8), 1L, Money.of(1))
+        ));
+
+        List<StatisticsBucketDto> result = service.createRevenueStatistics(FROM, TO, Granularity.WEEK);
+
+        assertEquals(3, result.size());
+        assertEquals(LocalDate.of(2020, 6, 8), result.get(0).getPeriodEnd());
+        assertEquals(Long.valueOf(1L), result.get(0).getOrdersNumber());
+        assertEquals(Long.valueOf(1L), result.get(1).getOrdersNumber());
+        assertEquals(Long.valueOf(0L), result.get(2).getOrdersNumber());
+    }
+
+    @Test
+    void createRevenueStatisticsWrongRange() {
+
+        final LocalDate DATE = LocalDate.of(2020, 6, 3);
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.createRevenueStatistics(DATE, DATE, Granularity.DAY);
+                });
+
+        verify(receiptRepository, never()).streamStatisticsByCreationDateBetween(any(), any());
+    }
+
+    @Test
+    void createRevenueStatisticsTooManyPeriods() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.createRevenueStatistics(LocalDate.of(2000, 1, 1), LocalDate.of(2020, 1, 1),
+                            Granularity.DAY);
+                });
+
+        verify(receiptRepository, never()).streamStatisticsByCreationDateBetween(any(), any());
+    }
+
+    @Test
+    void createRouteStatistics() {
+
+        final LocalDate FROM = LocalDate.of(2020, 1, 1);
+        final LocalDate TO = LocalDate.of(2020, 2, 1);
+
+        stubPeriodStatisticsCache();
+        when(receiptRepository.statisticsByRoute(FROM, TO)).thenReturn(Arrays.asList(
+                routeStatistics("Kyiv", "Lviv", 3L, Money.of(30)),
+                routeStatistics("Lviv", "Kyiv", 1L, Money.of(10))
+        ));
+
+        List<RouteStatisticsDto> result = service.createRouteStatistics(FROM, TO);
+
+        assertEquals(2, result.size());
+        assertEquals("Kyiv", result.get(0).getCityFrom());
+        assertEquals("Lviv", result.get(0).getCityTo());
+        assertEquals(Long.valueOf(3L), result.get(0).getOrdersNumber());
+        assertEquals(Money.of(30).toBigDecimal(), result.get(0).getEarnings());
+
+        verify(periodStatisticsCache).get(eq("routes"), eq(FROM), eq(TO), any());
+        verify(receiptRepository).statisticsByRoute(FROM, TO);
+    }
+
+    @Test
+    void createOrderTypeStatistics() {
+
+        final LocalDate FROM = LocalDate.of(2020, 1, 1);
+        final LocalDate TO = LocalDate.of(2020, 2, 1);
+
+        stubPeriodStatisticsCache();
+        when(receiptRepository.statisticsByOrderType(FROM, TO)).thenReturn(Collections.singletonList(
+                orderTypeStatistics(1L, "Box", 2L, Money.of(40))
+        ));
+
+        List<OrderTypeStatisticsDto> result = service.createOrderTypeStatistics(FROM, TO);
+
+        assertEquals(1, result.size());
+        assertEquals(Long.valueOf(1L), result.get(0).getOrderTypeId());
+        assertEquals("Box", result.get(0).getName());
+        assertEquals(Long.valueOf(2L), result.get(0).getOrdersNumber());
+        assertEquals(Money.of(40).toBigDecimal(), result.get(0).getEarnings());
+
+        verify(receiptRepository).statisticsByOrderType(FROM, TO);
+    }
+
+    @Test
+    void createRouteStatisticsWrongRange() {
+
+        final LocalDate DATE = LocalDate.of(2020, 6, 3);
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.createRouteStatistics(DATE, DATE.minusDays(1));
+                });
+
+        verifyNoInteractions(periodStatisticsCache);
+        verify(receiptRepository, never()).statisticsByRoute(any(), any());
+    }
+
+    private void stubPeriodStatisticsCache() {
+        when(periodStatisticsCache.get(anyString(), any(LocalDate.class), any(LocalDate.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<?>>>getArgument(3).get());
+    }
+
+    private RouteRevenueStatistics routeStatistics(String cityFrom, String cityTo, Long ordersNumber,
+                                                   Money earnings) {
+        return new RouteRevenueStatistics() {
+            @Override
+            public String getCityFrom() {
+                return cityFrom;
+            }
+
+            @Override
+            public String getCityTo() {
+                return cityTo;
+            }
+
+            @Override
+            public Long getOrdersNumber() {
+                return ordersNumber;
+            }
+
+            @Override
+            public Money getEarnings() {
+                return earnings;
+            }
+        };
+    }
+
+    private OrderTypeRevenueStatistics orderTypeStatistics(Long orderTypeId, String orderTypeName, Long ordersNumber,
+                                                           Money earnings) {
+        return new OrderTypeRevenueStatistics() {
+            @Override
+            public Long getOrderTypeId() {
+                return orderTypeId;
+            }
+
+            @Override
+            public String getOrderTypeName() {
+                return orderTypeName;
+            }
+
+            @Override
+            public Long getOrdersNumber() {
+                return ordersNumber;
+            }
+
+            @Override
+            public Money getEarnings() {
+                return earnings;
+            }
+        };
+    }
+
+    private DailyReceiptStatistics dailyStatistics(LocalDate creationDate, Long ordersNumber, Money earnings) {
+        return new DailyReceiptStatistics() {
+            @Override
+            public LocalDate getCreationDate() {
+                return creationDate;
+            }
+
+            @Override
+            public Long getOrdersNumber() {
+                return ordersNumber;
+            }
+
+            @Override
+            public Money getEarnings() {
+                return earnings;
+            }
+        };
+    }
+}
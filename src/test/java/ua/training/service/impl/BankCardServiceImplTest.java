@@ -2,20 +2,26 @@ package ua.training.service.impl;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ua.training.api.dto.BankCardDto;
 import ua.training.api.dto.ReceiptDto;
 import ua.training.api.mapper.BankCardMapper;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Order;
 import ua.training.domain.order.Status;
 import ua.training.domain.user.BankCard;
 import ua.training.domain.user.User;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.event.ReceiptCreatedEvent;
 import ua.training.exception.BankCardException;
 import ua.training.exception.OrderNotFoundException;
 import ua.training.repository.BankCardRepository;
+import ua.training.repository.ReceiptMonthlyRollupRepository;
 import ua.training.repository.ReceiptRepository;
 import ua.training.service.OrderService;
 import ua.training.service.UserService;
@@ -43,9 +49,15 @@ class BankCardServiceImplTest {
     @Mock
     ReceiptRepository receiptRepository;
 
+    @Mock
+    ReceiptMonthlyRollupRepository receiptMonthlyRollupRepository;
+
     @Mock
     BankCardMapper bankCardMapper;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     BankCardServiceImpl service;
 
@@ -110,6 +122,8 @@ class BankCardServiceImplTest {
 //                .thenReturn(bankCard);
         when(bankCardMapper.bankCardToDto(any()))
                 .thenReturn(bankCardDto);
+        when(bankCardRepository.saveAndFlush(any())).thenReturn(bankCard);
+        when(bankCardRepository.existsByIdAndUsers_Id(ID, 5L)).thenReturn(true);
 
         BankCardDto result = service.saveBankCardDTO(bankCardDto, "login");
 
@@ -117,7 +131,8 @@ class BankCardServiceImplTest {
         verify(bankCardRepository).findBankCardByIdAndExpMonthAndExpYearAndCcv(anyLong(), anyLong(), anyLong(), anyLong());
         verify(bankCardMapper).bankCardToDto(any());
 //        verify(bankCardMapper).bankCardDtoToBankCard(any());
-        verify(bankCardRepository).save(any());
+        verify(bankCardRepository).saveAndFlush(any());
+        verify(bankCardRepository, never()).addUserCard(anyLong(), anyLong());
     }
 
     @Test
@@ -134,6 +149,8 @@ class BankCardServiceImplTest {
                 .thenReturn(bankCard);
         when(bankCardMapper.bankCardToDto(any()))
                 .thenReturn(bankCardDto);
+        when(bankCardRepository.saveAndFlush(any())).thenReturn(bankCard);
+        when(bankCardRepository.existsByIdAndUsers_Id(ID, 5L)).thenReturn(false);
 
         BankCardDto result = service.saveBankCardDTO(bankCardDto, "login");
 
@@ -141,7 +158,8 @@ class BankCardServiceImplTest {
         verify(bankCardRepository).findBankCardByIdAndExpMonthAndExpYearAndCcv(anyLong(), anyLong(), anyLong(), anyLong());
         verify(bankCardMapper).bankCardToDto(any());
         verify(bankCardMapper).bankCardDtoToBankCard(any());
-        verify(bankCardRepository).save(any());
+        verify(bankCardRepository).saveAndFlush(any());
+        verify(bankCardRepository).addUserCard(5L, ID);
     }
 
 
@@ -199,7 +217,7 @@ class BankCardServiceImplTest {
 
         Order order = Order.builder()
                 .id(4L)
-                .shippingPriceInCents(BigDecimal.TEN)
+                .shippingPriceInCents(Money.of(10))
                 .status(Status.NOT_PAID).build();
 
         ReceiptDto receiptDto = ReceiptDto.builder()
@@ -207,7 +225,7 @@ class BankCardServiceImplTest {
                 .orderId(ID).build();
 
         BankCard bankCard = BankCard.builder()
-                .balance(BigDecimal.ONE)
+                .balance(Money.of(1))
                 .build();
 
         when(userService.findByLogin(anyString()))
@@ -234,7 +252,7 @@ class BankCardServiceImplTest {
 
         Order order = Order.builder()
                 .id(4L)
-                .shippingPriceInCents(BigDecimal.valueOf(5L))
+                .shippingPriceInCents(Money.of(5))
                 .status(Status.NOT_PAID).build();
 
         ReceiptDto receiptDto = ReceiptDto.builder()
@@ -243,7 +261,7 @@ class BankCardServiceImplTest {
 
         BankCard bankCard = BankCard.builder()
                 .id(6L)
-                .balance(BigDecimal.valueOf(55L))
+                .balance(Money.of(55))
                 .build();
 
         BankCard bankCardToSend = BankCard.builder()
@@ -269,7 +287,42 @@ class BankCardServiceImplTest {
         verify(orderService).findOrderById(anyLong());
         verify(bankCardRepository, times(3)).findById(anyLong());
         verify(bankCardRepository).findBankCardByIdAndExpMonthAndExpYearAndCcv(any(), any(), any(), any());
+        verify(receiptRepository).save(any());
+        verify(receiptMonthlyRollupRepository).addReceipt(anyInt(), anyInt(), eq(Money.of(5).toBigDecimal()));
+        verify(eventPublisher).publishEvent(any(ReceiptCreatedEvent.class));
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        OrderStatusChangedEvent statusChangedEvent = (OrderStatusChangedEvent) events.getAllValues().get(1);
+        assertEquals(Status.NOT_PAID, statusChangedEvent.getPreviousStatus());
+        assertEquals(Status.PAID, statusChangedEvent.getStatus());
+
+    }
+
+    @Test
+    void payForDeliveredOrderReportsPreviousStatus() throws OrderNotFoundException, BankCardException {
+
+        Order order = Order.builder()
+                .id(4L)
+                .shippingPriceInCents(Money.of(5))
+                .status(Status.DELIVERED).build();
+
+        when(userService.findByLogin(anyString()))
+                .thenReturn(User.builder().id(5L).cards(cards).build());
+        when(orderService.findOrderById(anyLong()))
+                .thenReturn(order);
+        when(bankCardRepository.findById(anyLong()))
+                .thenReturn(Optional.of(BankCard.builder().id(6L).balance(Money.of(55)).build()));
+        when(bankCardRepository.findBankCardByIdAndExpMonthAndExpYearAndCcv(any(), any(), any(), any()))
+                .thenReturn(Optional.of(BankCard.builder().id(123L).build()));
+
+        service.payForOrder(ReceiptDto.builder().bankCard(3L).orderId(4L).build(), "login");
 
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        OrderStatusChangedEvent statusChangedEvent = (OrderStatusChangedEvent) events.getAllValues().get(1);
+        assertEquals(Status.DELIVERED, statusChangedEvent.getPreviousStatus());
+        assertEquals(Status.PAID, order.getStatus());
     }
 
     @Test
@@ -0,0 +1,235 @@
+package ua.training.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.training.api.dto.BulkOrderResultDto;
+import ua.training.api.dto.OrderDto;
+import ua.training.api.mapper.OrderMapper;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.Order;
+import ua.training.domain.order.OrderType;
+import ua.training.domain.order.Status;
+import ua.training.domain.user.User;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.exception.DestinationNotFoundException;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.OrderCreateException;
+import ua.training.exception.OrderTypeNotFoundException;
+import ua.training.exception.UserNotFoundException;
+import ua.training.repository.OrderBatchRepository;
+import ua.training.repository.UserRepository;
+import ua.training.service.DestinationService;
+import ua.training.service.OrderService;
+import ua.training.service.OrderTypeService;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkOrderServiceImplTest {
+
+    @Mock
+    OrderBatchRepository orderBatchRepository;
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    OrderTypeService orderTypeService;
+
+    @Mock
+    DestinationService destinationService;
+
+    @Mock
+    OrderService orderService;
+
+    @Mock
+    OrderMapper orderMapper;
+
+    @Spy
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    BulkOrderServiceImpl service;
+
+    final int MAX_SIZE = 3;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "MAX_SIZE", MAX_SIZE);
+    }
+
+    @Test
+    void createOrdersReportsPerItem() throws Exception {
+
+        when(userRepository.findByLogin("login")).thenReturn(Optional.of(User.builder().id(1L).login("login").build()));
+        when(orderTypeService.getOrderTypeById(1L)).thenReturn(
+                OrderType.builder().id(1L).priceInCents(Money.of(1)).build());
+        when(orderTypeService.getOrderTypeById(5L)).thenThrow(new OrderTypeNotFoundException("no order type with id=5"));
+        when(destinationService.getDestination("from", "to")).thenReturn(
+                Destination.builder().id(2L).cityFrom("from").cityTo("to").priceInCents(Money.of(1)).build());
+        when(orderMapper.orderDtoToOrder(any(OrderDto.class))).thenAnswer(invocation -> Order.builder()
+                .id(99L)
+                .weight(((OrderDto) invocation.getArgument(0)).getWeight())
+                .build());
+        when(orderService.calculatePrice(any(Order.class))).thenReturn(Money.of(10));
+        when(orderBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            long id = 10;
+            for (Order order : orders) {
+                order.setId(id++);
+            }
+            return Collections.emptyMap();
+        });
+
+        BulkOrderResultDto result = service.createOrders(Arrays.asList(
+                orderDto("1", "from", "to"),
+                orderDto("5", "from", "to"),
+                orderDto("1", "from", "to")), "login");
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(Long.valueOf(10L), result.getItems().get(0).getOrderId());
+        assertEquals(Money.of(10), result.getItems().get(0).getShippingPriceInCents());
+        assertNull(result.getItems().get(1).getOrderId());
+        assertEquals("no order type with id=5", result.getItems().get(1).getError());
+        assertEquals(Long.valueOf(11L), result.getItems().get(2).getOrderId());
+
+        verify(destinationService, times(2)).getDestination("from", "to");
+
+        ArgumentCaptor<OrderStatusChangedEvent> events = ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        events.getAllValues().forEach(event -> {
+            assertEquals("login", event.getOwnerLogin());
+            assertEquals(Status.NOT_PAID, event.getStatus());
+        });
+    }
+
+    @Test
+    void createOrdersReportsRejectedInserts() throws Exception {
+
+        when(userRepository.findByLogin("login")).thenReturn(Optional.of(User.builder().id(1L).login("login").build()));
+        when(orderTypeService.getOrderTypeById(1L)).thenReturn(
+                OrderType.builder().id(1L).priceInCents(Money.of(1)).build());
+        when(destinationService.getDestination("from", "to")).thenReturn(
+                Destination.builder().id(2L).cityFrom("from").cityTo("to").priceInCents(Money.of(1)).build());
+        when(orderMapper.orderDtoToOrder(any(OrderDto.class))).thenAnswer(invocation -> Order.builder().build());
+        when(orderService.calculatePrice(any(Order.class))).thenReturn(Money.of(10));
+        when(orderBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.get(0).setId(10L);
+            orders.get(2).setId(12L);
+            return Collections.singletonMap(1, new DataIntegrityViolationException("too long"));
+        });
+
+        BulkOrderResultDto result = service.createOrders(Arrays.asList(
+                orderDto("1", "from", "to"),
+                orderDto("1", "from", "to"),
+                orderDto("1", "from", "to")), "login");
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(Long.valueOf(10L), result.getItems().get(0).getOrderId());
+        assertNull(result.getItems().get(1).getOrderId());
+        assertEquals("order violates a data constraint", result.getItems().get(1).getError());
+        assertEquals(Long.valueOf(12L), result.getItems().get(2).getOrderId());
+        verify(eventPublisher, times(2)).publishEvent(any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    void createOrdersRejectsInvalidItems() throws Exception {
+
+        when(userRepository.findByLogin("login")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(orderTypeService.getOrderTypeById(1L)).thenReturn(OrderType.builder().id(1L).build());
+        when(destinationService.getDestination("from", "to"))
+                .thenThrow(new DestinationNotFoundException("no destination : from - to"));
+        when(orderBatchRepository.insertAll(anyList())).thenReturn(Collections.emptyMap());
+
+        OrderDto noWeight = orderDto("1", "from", "to");
+        noWeight.setWeight(null);
+
+        BulkOrderResultDto result = service.createOrders(Arrays.asList(
+                orderDto("1", "", "to"),
+                noWeight,
+                orderDto("1", "from", "to")), "login");
+
+        assertEquals(0, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.getItems().get(0).getError().startsWith("destinationCityFrom"));
+        assertEquals("weight must not be null", result.getItems().get(1).getError());
+        assertEquals("no destination : from - to", result.getItems().get(2).getError());
+        verifyNoInteractions(orderMapper, eventPublisher);
+    }
+
+    @Test
+    void createOrdersTooMany() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.createOrders(Collections.nCopies(MAX_SIZE + 1, orderDto("1", "from", "to")), "login");
+                });
+
+        verifyNoInteractions(userRepository, orderBatchRepository);
+    }
+
+    @Test
+    void createOrdersUnknownUser() {
+
+        when(userRepository.findByLogin("login")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class,
+                () -> {
+                    service.createOrders(Collections.singletonList(orderDto("1", "from", "to")), "login");
+                });
+    }
+
+    @Test
+    void createOrdersInsertFails() throws Exception {
+
+        when(userRepository.findByLogin("login")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(orderTypeService.getOrderTypeById(1L)).thenReturn(
+                OrderType.builder().id(1L).priceInCents(Money.of(1)).build());
+        when(destinationService.getDestination("from", "to")).thenReturn(
+                Destination.builder().id(2L).cityFrom("from").cityTo("to").priceInCents(Money.of(1)).build());
+        when(orderMapper.orderDtoToOrder(any(OrderDto.class))).thenReturn(Order.builder().build());
+        when(orderBatchRepository.insertAll(anyList())).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThrows(OrderCreateException.class,
+                () -> {
+                    service.createOrders(Collections.singletonList(orderDto("1", "from", "to")), "login");
+                });
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private OrderDto orderDto(String type, String cityFrom, String cityTo) {
+        return OrderDto.builder()
+                .description("parcel")
+                .type(type)
+                .destinationCityFrom(cityFrom)
+                .destinationCityTo(cityTo)
+                .weight(BigDecimal.ONE)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package ua.training.service.impl;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.training.domain.order.Destination;
+import ua.training.event.ReferenceDataChangedEvent;
+import ua.training.exception.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityAutocompleteServiceImplTest {
+
+    CityAutocompleteServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+
+        service = new CityAutocompleteServiceImpl();
+        ReflectionTestUtils.setField(service, "DEFAULT_LIMIT", 2);
+        ReflectionTestUtils.setField(service, "MAX_LIMIT", 5);
+        ReflectionTestUtils.setField(service, "trieExecutor", MoreExecutors.newDirectExecutorService());
+
+        service.onReferenceDataChanged(new ReferenceDataChangedEvent(1L, Arrays.asList(
+                destination("Київ", "Львів"),
+                destination("Київ", "Луцьк"),
+                destination("Львів", "Київ"),
+                destination("Луцьк", "Київ"),
+                destination("Одеса", "Київ")), Collections.emptyList()));
+    }
+
+    @Test
+    void completeAnyDirection() {
+
+        assertEquals(Arrays.asList("Київ", "Луцьк"), service.complete("", null, null));
+        assertEquals(Arrays.asList("Луцьк", "Львів"), service.complete("л", null, 5));
+    }
+
+    @Test
+    void completeByDirection() {
+
+        assertEquals(Collections.singletonList("Одеса"), service.complete("о", "from", null));
+        assertTrue(service.complete("о", "to", null).isEmpty());
+        assertEquals(Collections.singletonList("Київ"), service.complete("КИ", "to", 5));
+    }
+
+    @Test
+    void referenceDataChangeRebuildsTries() {
+
+        service.onReferenceDataChanged(new ReferenceDataChangedEvent(2L, Collections.singletonList(
+                destination("Харків", "Одеса")), Collections.emptyList()));
+
+        assertTrue(service.complete("к", null, null).isEmpty());
+        assertEquals(Collections.singletonList("Харків"), service.complete("х", "from", null));
+    }
+
+    @Test
+    void completeWrongRequest() {
+
+        assertThrows(InvalidRequestException.class, () -> {
+            service.complete("к", "sideways", null);
+        });
+        assertThrows(InvalidRequestException.class, () -> {
+            service.complete("к", null, 6);
+        });
+        assertThrows(InvalidRequestException.class, () -> {
+            service.complete(null, null, null);
+        });
+    }
+
+    private Destination destination(String cityFrom, String cityTo) {
+        return Destination.builder()
+                .cityFrom(cityFrom)
+                .cityTo(cityTo)
+                .build();
+    }
+}
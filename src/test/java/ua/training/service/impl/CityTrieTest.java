@@ -0,0 +1,68 @@
+package ua.training.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityTrieTest {
+
+    CityTrie trie;
+
+    @BeforeEach
+    void setUp() {
+
+        Map<String, Integer> cities = new HashMap<>();
+        cities.put("Київ", 5);
+        cities.put("Кривий Ріг", 2);
+        cities.put("Кропивницький", 2);
+        cities.put("Кам'янець-Подільський", 1);
+        cities.put("Львів", 3);
+        cities.put("Ізмаїл", 1);
+
+        trie = new CityTrie(cities, 3);
+    }
+
+    @Test
+    void fold() {
+
+        assertEquals("київ", CityTrie.fold("  КИЇВ "));
+        assertEquals("ізмаїл", CityTrie.fold("ІЗМАЇЛ"));
+        assertEquals("кам'янець", CityTrie.fold("Кам’янець"));
+        assertEquals("кам'янець", CityTrie.fold("Камʼянець"));
+    }
+
+    @Test
+    void completeRanksByWeightThenName() {
+
+        assertEquals(Arrays.asList("Київ", "Кривий Ріг", "Кропивницький"), trie.complete("к", 10));
+        assertEquals(Arrays.asList("Кривий Ріг", "Кропивницький"), trie.complete("КР", 10));
+    }
+
+    @Test
+    void completeIgnoresCaseAndApostropheForm() {
+
+        assertEquals(Collections.singletonList("Кам'янець-Подільський"), trie.complete("кам’я", 10));
+        assertEquals(Collections.singletonList("Ізмаїл"), trie.complete("ізм", 10));
+        assertEquals(Collections.singletonList("Львів"), trie.complete("ЛЬВІВ", 10));
+    }
+
+    @Test
+    void completeRespectsLimit() {
+
+        assertEquals(Collections.singletonList("Київ"), trie.complete("к", 1));
+        assertEquals(3, trie.complete("", 10).size());
+    }
+
+    @Test
+    void completeUnknownPrefix() {
+
+        assertTrue(trie.complete("харк", 10).isEmpty());
+        assertEquals(6, trie.size());
+    }
+}
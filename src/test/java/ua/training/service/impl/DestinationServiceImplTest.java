@@ -4,19 +4,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ua.training.api.dto.DestinationDto;
+import ua.training.api.dto.RoutePlanDto;
 import ua.training.api.mapper.DestinationMapper;
 import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.event.ReferenceDataChangedEvent;
 import ua.training.exception.DestinationNotFoundException;
 import ua.training.repository.DestinationRepository;
+import ua.training.service.route.RoutePlanner;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -31,6 +38,9 @@ class DestinationServiceImplTest {
     @Mock
     DestinationMapper destinationMapper;
 
+    @Spy
+    RoutePlanner routePlanner = new RoutePlanner();
+
     @InjectMocks
     DestinationServiceImpl service;
 
@@ -81,4 +91,92 @@ class DestinationServiceImplTest {
                     service.getDestination("from", "to");
                 });
     }
+
+    @Test
+    void getDestinationFromRouteTable() throws DestinationNotFoundException {
+
+        Destination destination = Destination.builder().id(1L).cityFrom("from").cityTo("to").build();
+        when(destinationMapper.destinationToDestinationDto(any(Destination.class)))
+                .thenReturn(DestinationDto.builder().build());
+
+        service.onReferenceDataChanged(new ReferenceDataChangedEvent(1L, Arrays.asList(destination,
+                Destination.builder().id(2L).cityFrom("from").cityTo("other").build()), Collections.emptyList()));
+
+        assertSame(destination, service.getDestination("from", "to"));
+        assertEquals(2, service.getAllDestinationDto().size());
+        assertThrows(DestinationNotFoundException.class,
+                () -> {
+                    service.getDestination("to", "from");
+                });
+
+        verifyNoInteractions(destinationRepository);
+    }
+
+    @Test
+    void referenceDataChangeReplacesRouteTable() throws DestinationNotFoundException {
+
+        when(destinationMapper.destinationToDestinationDto(any(Destination.class)))
+                .thenReturn(DestinationDto.builder().build());
+
+        service.onReferenceDataChanged(new ReferenceDataChangedEvent(1L, Collections.singletonList(
+                Destination.builder().id(1L).cityFrom("from").cityTo("to").build()), Collections.emptyList()));
+        service.onReferenceDataChanged(new ReferenceDataChangedEvent(2L, Collections.singletonList(
+                Destination.builder().id(2L).cityFrom("to").cityTo("from").build()), Collections.emptyList()));
+
+        assertEquals(Long.valueOf(2L), service.getDestination("to", "from").getId());
+        assertThrows(DestinationNotFoundException.class,
+                () -> {
+                    service.getDestination("from", "to");
+                });
+
+        verifyNoInteractions(destinationRepository);
+    }
+
+    @Test
+    void getDestinationDoesNotPlanMultiLegRoute() {
+
+        loadRoutes();
+
+        assertThrows(DestinationNotFoundException.class,
+                () -> {
+                    service.getDestination("Київ", "Ужгород");
+                });
+
+        verifyNoInteractions(destinationRepository);
+    }
+
+    @Test
+    void getRoutePlan() throws DestinationNotFoundException {
+
+        loadRoutes();
+
+        RoutePlanDto result = service.getRoutePlan("Київ", "Ужгород");
+
+        assertEquals(Arrays.asList("Київ", "Львів", "Ужгород"), result.getCheapest().getCities());
+        assertEquals(Money.of(15), result.getCheapest().getPriceInCents());
+        assertEquals(Arrays.asList("Київ", "Одеса", "Ужгород"), result.getFastest().getCities());
+        assertEquals(Long.valueOf(2L), result.getFastest().getDaysToDeliver());
+        assertThrows(DestinationNotFoundException.class,
+                () -> {
+                    service.getRoutePlan("Ужгород", "Київ");
+                });
+    }
+
+    private void loadRoutes() {
+
+        when(destinationMapper.destinationToDestinationDto(any(Destination.class)))
+                .thenReturn(DestinationDto.builder().build());
+
+        ReferenceDataChangedEvent event = new ReferenceDataChangedEvent(1L, Arrays.asList(
+                Destination.builder().id(1L).cityFrom("Київ").cityTo("Львів")
+                        .daysToDeliver(1L).priceInCents(Money.of(5)).build(),
+                Destination.builder().id(2L).cityFrom("Львів").cityTo("Ужгород")
+                        .daysToDeliver(2L).priceInCents(Money.of(10)).build(),
+                Destination.builder().id(3L).cityFrom("Київ").cityTo("Одеса")
+                        .daysToDeliver(1L).priceInCents(Money.of(20)).build(),
+                Destination.builder().id(4L).cityFrom("Одеса").cityTo("Ужгород")
+                        .daysToDeliver(1L).priceInCents(Money.of(20)).build()), Collections.emptyList());
+        routePlanner.onReferenceDataChanged(event);
+        service.onReferenceDataChanged(event);
+    }
 }
@@ -0,0 +1,191 @@
+package ua.training.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+import ua.training.api.dto.BulkOrderItemDto;
+import ua.training.api.dto.BulkOrderResultDto;
+import ua.training.api.dto.ImportJobDto;
+import ua.training.api.dto.OrderDto;
+import ua.training.domain.order.ImportStatus;
+import ua.training.exception.ImportJobNotFoundException;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.OrderCreateException;
+import ua.training.service.BulkOrderService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderImportServiceImplTest {
+
+    @Mock
+    BulkOrderService bulkOrderService;
+
+    OrderImportServiceImpl service;
+
+    final String HEADER = "description,type,destinationCityFrom,destinationCityTo,weight\n";
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderImportServiceImpl(bulkOrderService, new ObjectMapper(), 1, 60);
+        ReflectionTestUtils.setField(service, "importExecutor", MoreExecutors.newDirectExecutorService());
+        ReflectionTestUtils.setField(service, "CHUNK_SIZE", 2);
+        ReflectionTestUtils.setField(service, "MAX_ERRORS", 2);
+    }
+
+    @Test
+    void importCsvInChunks() {
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(bulkOrderService.createOrders(anyList(), eq("login"))).thenAnswer(invocation -> {
+            List<OrderDto> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+
+            List<BulkOrderItemDto> items = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                items.add(BulkOrderItemDto.builder()
+                        .index(i)
+                        .error("bad".equals(chunk.get(i).getType()) ? "no order type with id=bad" : null)
+                        .build());
+            }
+            return BulkOrderResultDto.builder().items(items).build();
+        });
+
+        ImportJobDto started = service.startImport(file("orders.csv", "text/csv", HEADER +
+                "a,1,Kyiv,Lviv,1\n" +
+                "b,bad,Kyiv,Lviv,1\n" +
+                "c,1,Kyiv,Lviv,x\n" +
+                "d,1,Kyiv,Lviv,1\n" +
+                "e,1,Kyiv,Lviv,1\n"), "login");
+
+        ImportJobDto job = service.getImportJob(started.getJobId(), "login");
+
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessedRows());
+        assertEquals(3, job.getCreatedOrders());
+        assertEquals(2, job.getFailedRows());
+        assertEquals(3, job.getErrors().get(0).getRow());
+        assertEquals(4, job.getErrors().get(1).getRow());
+        assertFalse(job.isErrorsTruncated());
+        assertEquals(2, chunkSizes.get(0));
+        assertEquals(2, chunkSizes.get(1));
+        assertEquals(2, chunkSizes.size());
+    }
+
+    @Test
+    void importNdjsonChunkFailure() {
+
+        when(bulkOrderService.createOrders(anyList(), eq("login"))).thenThrow(new OrderCreateException("db down"));
+
+        ImportJobDto started = service.startImport(file("orders.ndjson", "application/octet-stream",
+                "{\"type\":\"1\"}\n{\"type\":\"1\"}\n{\"type\":\"1\"}\n"), "login");
+
+        ImportJobDto job = service.getImportJob(started.getJobId(), "login");
+
+        assertEquals(ImportStatus.FAILED, job.getStatus());
+        assertEquals("db down", job.getMessage());
+        assertEquals(0, job.getProcessedRows());
+        assertTrue(job.getErrors().isEmpty());
+        verify(bulkOrderService, times(1)).createOrders(anyList(), eq("login"));
+    }
+
+    @Test
+    void importCsvWithoutHeaderFails() {
+
+        ImportJobDto started = service.startImport(file("orders.csv", "text/csv", "a,1,Kyiv,Lviv,1\n"), "login");
+
+        ImportJobDto job = service.getImportJob(started.getJobId(), "login");
+
+        assertEquals(ImportStatus.FAILED, job.getStatus());
+        assertNotNull(job.getMessage());
+        verifyNoInteractions(bulkOrderService);
+    }
+
+    @Test
+    void importUnknownFormat() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.startImport(file("orders.xlsx", "application/octet-stream", "data"), "login");
+                });
+    }
+
+    @Test
+    void importFileNotStored() throws Exception {
+
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getOriginalFilename()).thenReturn("orders.csv");
+        doThrow(new IOException("disk full")).when(file).transferTo(any(Path.class));
+
+        assertThrows(OrderCreateException.class,
+                () -> {
+                    service.startImport(file, "login");
+                });
+
+        verifyNoInteractions(bulkOrderService);
+    }
+
+    @Test
+    void unfinishedJobIsNotEvicted() throws Exception {
+
+        service = new OrderImportServiceImpl(bulkOrderService, new ObjectMapper(), 1, 0);
+        ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(service, "importExecutor", importExecutor);
+        CountDownLatch release = new CountDownLatch(1);
+        importExecutor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        ImportJobDto started = service.startImport(file("orders.csv", "text/csv", HEADER), "login");
+
+        assertEquals(ImportStatus.QUEUED, service.getImportJob(started.getJobId(), "login").getStatus());
+
+        release.countDown();
+        importExecutor.submit(() -> { }).get();
+
+        assertThrows(ImportJobNotFoundException.class,
+                () -> {
+                    service.getImportJob(started.getJobId(), "login");
+                });
+        service.close();
+    }
+
+    @Test
+    void getImportJobOfOtherUser() {
+
+        ImportJobDto started = service.startImport(file("orders.csv", "text/csv", HEADER), "login");
+
+        assertThrows(ImportJobNotFoundException.class,
+                () -> {
+                    service.getImportJob(started.getJobId(), "other");
+                });
+    }
+
+    private MockMultipartFile file(String name, String contentType, String content) {
+        return new MockMultipartFile("file", name, contentType, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
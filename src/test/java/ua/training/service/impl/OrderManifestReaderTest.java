@@ -0,0 +1,83 @@
+package ua.training.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderManifestReaderTest {
+
+    @Test
+    void readCsv() throws IOException {
+
+        OrderManifestReader reader = reader(OrderManifestReader.Format.CSV,
+                "weight,type,destinationCityFrom,destinationCityTo,description\n" +
+                        "1.5,1,Kyiv,Lviv,\"books, \"\"rare\"\"\"\n" +
+                        "\n" +
+                        "heavy,1,Kyiv,Lviv,box\n" +
+                        "2,1,Kyiv\n");
+
+        OrderManifestReader.Row first = reader.next();
+        assertEquals(2, first.getNumber());
+        assertNull(first.getError());
+        assertEquals("books, \"rare\"", first.getOrderDto().getDescription());
+        assertEquals(new BigDecimal("1.5"), first.getOrderDto().getWeight());
+        assertEquals("Lviv", first.getOrderDto().getDestinationCityTo());
+
+        OrderManifestReader.Row second = reader.next();
+        assertEquals(4, second.getNumber());
+        assertEquals("weight is not a number", second.getError());
+
+        OrderManifestReader.Row third = reader.next();
+        assertEquals(5, third.getNumber());
+        assertEquals("expected 5 columns but found 3", third.getError());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void readCsvWithoutRequiredColumns() {
+
+        OrderManifestReader reader = reader(OrderManifestReader.Format.CSV, "description,weight\nbox,1\n");
+
+        assertThrows(IOException.class,
+                () -> {
+                    reader.next();
+                });
+    }
+
+    @Test
+    void readNdjson() throws IOException {
+
+        OrderManifestReader reader = reader(OrderManifestReader.Format.NDJSON,
+                "{\"description\":\"box\",\"type\":\"2\",\"weight\":3}\n" +
+                        "{broken\n");
+
+        OrderManifestReader.Row first = reader.next();
+        assertEquals("box", first.getOrderDto().getDescription());
+        assertEquals("2", first.getOrderDto().getType());
+
+        OrderManifestReader.Row second = reader.next();
+        assertEquals(2, second.getNumber());
+        assertTrue(second.getError().startsWith("invalid JSON"));
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void splitCsv() {
+
+        assertEquals(Arrays.asList("a", "", "b,c"), OrderManifestReader.splitCsv("a,,\"b,c\""));
+        assertNull(OrderManifestReader.splitCsv("a,\"b"));
+    }
+
+    private OrderManifestReader reader(OrderManifestReader.Format format, String content) {
+        return new OrderManifestReader(new BufferedReader(new StringReader(content)), format, new ObjectMapper());
+    }
+}
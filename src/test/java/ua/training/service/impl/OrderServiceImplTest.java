@@ -3,30 +3,44 @@ package ua.training.service.impl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.util.ReflectionTestUtils;
+import ua.training.api.dto.KeysetPageDto;
 import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.OrderSearchDto;
+import ua.training.api.dto.PageDto;
 import ua.training.api.dto.OrderTypeDto;
 import ua.training.api.mapper.OrderMapper;
 import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Order;
 import ua.training.domain.order.OrderType;
 import ua.training.domain.order.Status;
 import ua.training.domain.user.User;
+import ua.training.event.OrderDeletedEvent;
+import ua.training.event.OrderStatusChangedEvent;
 import ua.training.exception.*;
 import ua.training.repository.OrderRepository;
 import ua.training.repository.UserRepository;
+import ua.training.repository.projection.OrderListRow;
+import ua.training.service.cache.UserOrderCache;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -53,19 +67,27 @@ class OrderServiceImplTest {
     @Mock
     DestinationServiceImpl destinationService;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    UserOrderCache userOrderCache = new UserOrderCache(60, 100, 16);
+
     @Spy
     private List<Order> orderList = new ArrayList<>();
 
     @InjectMocks
     OrderServiceImpl service;
 
-    final BigDecimal BASE_PRICE = BigDecimal.valueOf(5);
-    final BigDecimal WEIGHT_COEFFICIENT = BigDecimal.valueOf(0.25);
+    final Money BASE_PRICE = Money.of(5);
+    final Money WEIGHT_COEFFICIENT = Money.valueOf("0.25");
+    final int MAX_PAGE_SIZE = 50;
 
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(service, "BASE_PRICE", BASE_PRICE);
         ReflectionTestUtils.setField(service, "WEIGHT_COEFFICIENT", WEIGHT_COEFFICIENT);
+        ReflectionTestUtils.setField(service, "MAX_PAGE_SIZE", MAX_PAGE_SIZE);
     }
 
     @Test
@@ -76,7 +98,7 @@ class OrderServiceImplTest {
                 Order.builder().status(Status.NOT_PAID).build()
         );
 
-        when(orderRepository.findOrderByOwner_Login(anyString()))
+        when(orderRepository.findByOwner_LoginAndStatusNot(anyString(), eq(Status.ARCHIVED)))
                 .thenReturn(orderList);
 
         when(orderMapper.orderToOrderDto(any(Order.class)))
@@ -85,10 +107,30 @@ class OrderServiceImplTest {
         List<OrderDto> result = service.findAllUserOrders("login");
 
         assertEquals(result.size(), orderList.size());
-        verify(orderRepository).findOrderByOwner_Login(anyString());
+        verify(orderRepository).findByOwner_LoginAndStatusNot(anyString(), eq(Status.ARCHIVED));
         verify(orderMapper, times(orderList.size())).orderToOrderDto(any(Order.class));
     }
 
+    @Test
+    void findAllUserOrdersCached() {
+
+        when(orderRepository.findByOwner_LoginAndStatusNot("login", Status.ARCHIVED))
+                .thenReturn(Collections.singletonList(Order.builder().status(Status.NOT_PAID).build()));
+
+        when(orderMapper.orderToOrderDto(any(Order.class)))
+                .thenReturn(OrderDto.builder().status(Status.NOT_PAID).build());
+
+        List<OrderDto> first = service.findAllUserOrders("login");
+        List<OrderDto> second = service.findAllUserOrders("login");
+
+        userOrderCache.invalidate("login");
+        service.findAllUserOrders("login");
+
+        assertSame(first, second);
+        verify(orderRepository, times(2)).findByOwner_LoginAndStatusNot("login", Status.ARCHIVED);
+        assertEquals(1, userOrderCache.statistics().getHits());
+    }
+
     @Test
     void findAllNotPaidUserOrders() {
         List<Order> orderList = Arrays.asList(
@@ -156,64 +198,199 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void findAllPaidOrdersDTO() {
+    void findUserOrdersPage() {
 
         List<Order> orderList = Arrays.asList(
-                Order.builder().status(Status.PAID).build(),
-                Order.builder().status(Status.PAID).build()
+                Order.builder().id(4L).status(Status.NOT_PAID).build(),
+                Order.builder().id(7L).status(Status.PAID).build(),
+                Order.builder().id(9L).status(Status.NOT_PAID).build()
         );
+        Set<Status> statuses = EnumSet.of(Status.NOT_PAID, Status.PAID);
 
-        when(orderRepository.findOrderByStatus(any(Status.class)))
-                .thenReturn(orderList);
+        when(orderRepository.findByOwner_LoginAndStatusInAndIdGreaterThanOrderByIdAsc("login", statuses, 3L,
+                PageRequest.of(0, 3))).thenReturn(orderList);
 
         when(orderMapper.orderToOrderDto(any(Order.class)))
+                .thenReturn(OrderDto.builder().build());
+
+        KeysetPageDto<OrderDto> result = service.findUserOrdersPage("login", statuses, 3L, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertEquals(Long.valueOf(7L), result.getNextCursor());
+        verify(orderMapper, times(2)).orderToOrderDto(any(Order.class));
+    }
+
+    @Test
+    void findUserOrdersLastPage() {
+
+        List<Order> orderList = Collections.singletonList(Order.builder().id(4L).status(Status.NOT_PAID).build());
+        Set<Status> statuses = EnumSet.of(Status.NOT_PAID);
+
+        when(orderRepository.findByOwner_LoginAndStatusInAndIdGreaterThanOrderByIdAsc("login", statuses, 0L,
+                PageRequest.of(0, 3))).thenReturn(orderList);
+
+        when(orderMapper.orderToOrderDto(any(Order.class)))
+                .thenReturn(OrderDto.builder().build());
+
+        KeysetPageDto<OrderDto> result = service.findUserOrdersPage("login", statuses, null, 2);
+
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void findUserOrdersPageWrongSize() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.findUserOrdersPage("login", EnumSet.of(Status.NOT_PAID), null, MAX_PAGE_SIZE + 1);
+                });
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void findAllPaidOrdersDTO() {
+
+        List<OrderListRow> rows = Arrays.asList(orderListRow(1L, Status.PAID), orderListRow(2L, Status.PAID));
+
+        when(orderRepository.findOrderListRowsByStatus(Status.PAID))
+                .thenReturn(rows);
+
+        when(orderMapper.orderListRowToOrderDto(any(OrderListRow.class)))
                 .thenReturn(OrderDto.builder().status(Status.PAID).build());
 
         List<OrderDto> result = service.findAllPaidOrdersDTO();
 
-        assertEquals(result.size(), orderList.size());
-        verify(orderRepository).findOrderByStatus(any(Status.class));
-        verify(orderMapper, times(orderList.size())).orderToOrderDto(any(Order.class));
+        assertEquals(result.size(), rows.size());
+        verify(orderRepository).findOrderListRowsByStatus(Status.PAID);
+        verify(orderMapper, times(rows.size())).orderListRowToOrderDto(any(OrderListRow.class));
+        verify(orderMapper, never()).orderToOrderDto(any(Order.class));
     }
 
     @Test
     void findAllShippedOrdersDTO() {
-        List<Order> orderList = Arrays.asList(
-                Order.builder().status(Status.SHIPPED).build(),
-                Order.builder().status(Status.SHIPPED).build()
-        );
 
-        when(orderRepository.findOrderByStatus(any(Status.class)))
-                .thenReturn(orderList);
+        List<OrderListRow> rows = Arrays.asList(orderListRow(1L, Status.SHIPPED), orderListRow(2L, Status.SHIPPED));
 
-        when(orderMapper.orderToOrderDto(any(Order.class)))
+        when(orderRepository.findOrderListRowsByStatus(Status.SHIPPED))
+                .thenReturn(rows);
+
+        when(orderMapper.orderListRowToOrderDto(any(OrderListRow.class)))
                 .thenReturn(OrderDto.builder().status(Status.SHIPPED).build());
 
         List<OrderDto> result = service.findAllShippedOrdersDTO();
 
-        assertEquals(result.size(), orderList.size());
-        verify(orderRepository).findOrderByStatus(any(Status.class));
-        verify(orderMapper, times(orderList.size())).orderToOrderDto(any(Order.class));
+        assertEquals(result.size(), rows.size());
+        verify(orderRepository).findOrderListRowsByStatus(Status.SHIPPED);
+        verify(orderMapper, times(rows.size())).orderListRowToOrderDto(any(OrderListRow.class));
+        verify(orderMapper, never()).orderToOrderDto(any(Order.class));
     }
 
     @Test
     void findAllDeliveredOrdersDto() {
-        List<Order> orderList = Arrays.asList(
-                Order.builder().status(Status.DELIVERED).build(),
-                Order.builder().status(Status.DELIVERED).build()
-        );
 
-        when(orderRepository.findOrderByStatus(any(Status.class)))
-                .thenReturn(orderList);
+        List<OrderListRow> rows = Arrays.asList(orderListRow(1L, Status.DELIVERED), orderListRow(2L, Status.DELIVERED));
 
-        when(orderMapper.orderToOrderDto(any(Order.class)))
+        when(orderRepository.findOrderListRowsByStatus(Status.DELIVERED))
+                .thenReturn(rows);
+
+        when(orderMapper.orderListRowToOrderDto(any(OrderListRow.class)))
                 .thenReturn(OrderDto.builder().status(Status.DELIVERED).build());
 
         List<OrderDto> result = service.findAllDeliveredOrdersDto();
 
-        assertEquals(result.size(), orderList.size());
-        verify(orderRepository).findOrderByStatus(any(Status.class));
-        verify(orderMapper, times(orderList.size())).orderToOrderDto(any(Order.class));
+        assertEquals(result.size(), rows.size());
+        verify(orderRepository).findOrderListRowsByStatus(Status.DELIVERED);
+        verify(orderMapper, times(rows.size())).orderListRowToOrderDto(any(OrderListRow.class));
+        verify(orderMapper, never()).orderToOrderDto(any(Order.class));
+    }
+
+    @Test
+    void findOrdersPageByStatus() {
+
+        List<OrderListRow> rows = Arrays.asList(orderListRow(1L, Status.PAID), orderListRow(2L, Status.PAID));
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "shippingDate").and(Sort.by("id")));
+
+        when(orderRepository.findOrderListRowsByStatus(Status.PAID, pageRequest))
+                .thenReturn(new PageImpl<>(rows, pageRequest, 5));
+
+        when(orderMapper.orderListRowToOrderDto(any(OrderListRow.class)))
+                .thenReturn(OrderDto.builder().status(Status.PAID).build());
+
+        PageDto<OrderDto> result = service.findOrdersPageByStatus(Status.PAID, 1, 2, "shippingDate",
+                Sort.Direction.DESC);
+
+        assertEquals(rows.size(), result.getContent().size());
+        assertEquals(1, result.getPage());
+        assertEquals(5L, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+        verify(orderRepository).findOrderListRowsByStatus(Status.PAID, pageRequest);
+    }
+
+    @Test
+    void findOrdersPageByStatusWrongSort() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.findOrdersPageByStatus(Status.PAID, 0, 2, "owner.password", Sort.Direction.ASC);
+                });
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void searchOrders() {
+
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "deliveryDate").and(Sort.by("id")));
+        List<Order> orders = Arrays.asList(Order.builder().id(1L).build(), Order.builder().id(2L).build());
+
+        when(orderRepository.findAll(ArgumentMatchers.<Specification<Order>>any(), eq(pageRequest)))
+                .thenReturn(new PageImpl<>(orders, pageRequest, 3));
+        when(orderMapper.orderToOrderDto(any(Order.class))).thenReturn(OrderDto.builder().build());
+
+        PageDto<OrderDto> result = service.searchOrders(OrderSearchDto.builder()
+                        .cityFrom("from")
+                        .priceFrom(BigDecimal.ONE)
+                        .priceTo(BigDecimal.TEN)
+                        .build(), "login", 0, 2, "deliveryDate", Sort.Direction.ASC);
+
+        assertEquals(orders.size(), result.getContent().size());
+        assertEquals(3L, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+    }
+
+    @Test
+    void searchOrdersWrongRange() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.searchOrders(OrderSearchDto.builder()
+                            .shippingDateFrom(LocalDate.of(2020, 2, 1))
+                            .shippingDateTo(LocalDate.of(2020, 1, 1))
+                            .build(), null, 0, 2, "id", Sort.Direction.ASC);
+                });
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void streamOrdersByStatus() {
+
+        Stream<OrderListRow> rows = Stream.of(orderListRow(1L, Status.SHIPPED), orderListRow(2L, Status.SHIPPED));
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(orderRepository.streamOrderListRowsByStatus(Status.SHIPPED))
+                .thenReturn(rows.onClose(() -> closed.set(true)));
+
+        when(orderMapper.orderListRowToOrderDto(any(OrderListRow.class)))
+                .thenReturn(OrderDto.builder().status(Status.SHIPPED).build());
+
+        List<OrderDto> result = new ArrayList<>();
+        service.streamOrdersByStatus(Status.SHIPPED, result::add);
+
+        assertEquals(2, result.size());
+        assertTrue(closed.get());
     }
 
     @Test
@@ -260,6 +437,21 @@ class OrderServiceImplTest {
         verify(orderMapper).orderToOrderDto(any(Order.class));
     }
 
+    @Test
+    void getOrderDtoByIdAndUserIdNotCachedWhenMissing() {
+
+        when(orderRepository.findByIdAndOwner_Login(1L, "login")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(OrderNotFoundException.class,
+                    () -> {
+                        service.getOrderDtoByIdAndUserId(1L, "login");
+                    });
+        }
+
+        verify(orderRepository, times(2)).findByIdAndOwner_Login(1L, "login");
+    }
+
     @Test
     void findOrderById() throws OrderNotFoundException {
 
@@ -280,7 +472,8 @@ class OrderServiceImplTest {
     void moveOrderToArchive() throws OrderNotFoundException {
         final Long ID = 1L;
 
-        Order order = Order.builder().id(ID).status(Status.RECEIVED).build();
+        Order order = Order.builder().id(ID).status(Status.RECEIVED).owner(User.builder().login("login").build())
+                .build();
         OrderDto orderDto = OrderDto.builder().id(order.getId()).status(Status.ARCHIVED).build();
 
         when(orderRepository.findById(anyLong()))
@@ -294,6 +487,8 @@ class OrderServiceImplTest {
         assertEquals(ID, result.getId());
         verify(orderRepository).findById(anyLong());
         verify(orderRepository).save(order);
+        verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+                event.getPreviousStatus() == Status.RECEIVED && event.getStatus() == Status.ARCHIVED));
         assertEquals(Status.ARCHIVED, result.getStatus());
 
     }
@@ -303,13 +498,16 @@ class OrderServiceImplTest {
 
         final Long ID = 1L;
 
-        Order order = Order.builder().id(ID).status(Status.NOT_PAID).build();
+        Order order = Order.builder().id(ID).status(Status.NOT_PAID)
+                .owner(User.builder().login("login").build()).build();
 
         when(orderRepository.findById(anyLong()))
                 .thenReturn(Optional.of(order));
 
         service.deleteOrderById(ID);
         verify(orderRepository).delete(any(Order.class));
+        verify(eventPublisher).publishEvent(argThat((OrderDeletedEvent event) ->
+                ID.equals(event.getOrderId()) && "login".equals(event.getOwnerLogin())));
     }
 
     @Test
@@ -342,13 +540,13 @@ class OrderServiceImplTest {
     @Test
     void calculatePrice() {
 
-        BigDecimal result = service.calculatePrice(Order.builder()
-                .destination(Destination.builder().priceInCents(BigDecimal.ONE).build())
+        Money result = service.calculatePrice(Order.builder()
+                .destination(Destination.builder().priceInCents(Money.of(1)).build())
                 .weight(BigDecimal.ONE)
-                .orderType(OrderType.builder().priceInCents(BigDecimal.ONE).build())
+                .orderType(OrderType.builder().priceInCents(Money.of(1)).build())
                 .build());
 
-        assertNotNull(result);
+        assertEquals(Money.valueOf("7.25"), result);
     }
 
     @Test
@@ -368,8 +566,8 @@ class OrderServiceImplTest {
     void createOrder() throws OrderTypeNotFoundException, DestinationNotFoundException {
         Order order = Order.builder()
                 .weight(BigDecimal.ONE)
-                .destination(Destination.builder().priceInCents(BigDecimal.ONE).build())
-                .orderType(OrderType.builder().priceInCents(BigDecimal.ONE).build()).build();
+                .destination(Destination.builder().priceInCents(Money.of(1)).build())
+                .orderType(OrderType.builder().priceInCents(Money.of(1)).build()).build();
         OrderDto orderDto = OrderDto.builder()
                 .orderType(OrderTypeDto.builder().id(1L).build())
                 .type("1")
@@ -381,9 +579,9 @@ class OrderServiceImplTest {
         when(userRepository.findByLogin(anyString())).thenReturn(Optional.of(User.builder().orders(orderList).build()));
 
         when(orderTypeService.getOrderTypeById(anyLong())).thenReturn(
-                OrderType.builder().priceInCents(BigDecimal.ONE).build());
+                OrderType.builder().priceInCents(Money.of(1)).build());
         when(destinationService.getDestination(anyString(), anyString())).thenReturn(
-                Destination.builder().priceInCents(BigDecimal.ONE).build());
+                Destination.builder().priceInCents(Money.of(1)).build());
         when(orderRepository.save(any())).thenReturn(order);
         when(orderMapper.orderToOrderDto(any(Order.class))).thenReturn(orderDto);
 
@@ -395,14 +593,16 @@ class OrderServiceImplTest {
         verify(destinationService).getDestination(anyString(), anyString());
         verify(orderRepository).save(any());
         verify(orderMapper).orderToOrderDto(any(Order.class));
+        verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+                "login".equals(event.getOwnerLogin()) && event.getPreviousStatus() == null));
     }
 
     @Test
     void createOrderExc() throws OrderTypeNotFoundException, DestinationNotFoundException {
         Order order = Order.builder()
                 .weight(BigDecimal.ONE)
-                .destination(Destination.builder().priceInCents(BigDecimal.ONE).build())
-                .orderType(OrderType.builder().priceInCents(BigDecimal.ONE).build()).build();
+                .destination(Destination.builder().priceInCents(Money.of(1)).build())
+                .orderType(OrderType.builder().priceInCents(Money.of(1)).build()).build();
         OrderDto orderDto = OrderDto.builder()
                 .orderType(OrderTypeDto.builder().id(1L).build())
                 .type("1")
@@ -420,4 +620,9 @@ class OrderServiceImplTest {
                     service.createOrder(orderDto, "login");
                 });
     }
+
+    private OrderListRow orderListRow(Long id, Status status) {
+        return new OrderListRow(id, null, BigDecimal.ONE, status, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
 }
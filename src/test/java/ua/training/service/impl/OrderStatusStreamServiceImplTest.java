@@ -0,0 +1,155 @@
+package ua.training.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.training.domain.order.Status;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.exception.TooManyConnectionsException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusStreamServiceImplTest {
+
+    @Mock
+    SseEmitter emitter;
+
+    @Mock
+    SseEmitter otherEmitter;
+
+    OrderStatusStreamServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = spy(new OrderStatusStreamServiceImpl());
+        ReflectionTestUtils.setField(service, "MAX_CONNECTIONS", 2);
+        ReflectionTestUtils.setField(service, "REPLAY_SIZE", 2);
+        ReflectionTestUtils.setField(service, "TIMEOUT_MS", 1000L);
+    }
+
+    @Test
+    void subscribeUserReceivesOwnEvents() throws IOException {
+
+        doReturn(emitter).when(service).newEmitter();
+
+        service.subscribeUser("login", null);
+        service.onOrderStatusChanged(statusChanged(1L, "login"));
+        service.onOrderStatusChanged(statusChanged(2L, "other"));
+
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void subscribeAdminReceivesAllEvents() throws IOException {
+
+        doReturn(emitter).when(service).newEmitter();
+
+        service.subscribeAdmin(null);
+        service.onOrderStatusChanged(statusChanged(1L, "login"));
+        service.onOrderStatusChanged(statusChanged(2L, "other"));
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void subscribeResumesAfterLastEventId() throws IOException {
+
+        service.onOrderStatusChanged(statusChanged(1L, "login"));
+        service.onOrderStatusChanged(statusChanged(2L, "other"));
+        service.onOrderStatusChanged(statusChanged(3L, "login"));
+
+        doReturn(emitter).when(service).newEmitter();
+
+        service.subscribeUser("login", 1L);
+
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void subscribeReplaysOnlyBufferedEvents() throws IOException {
+
+        service.onOrderStatusChanged(statusChanged(1L, "login"));
+        service.onOrderStatusChanged(statusChanged(2L, "login"));
+        service.onOrderStatusChanged(statusChanged(3L, "login"));
+
+        doReturn(emitter).when(service).newEmitter();
+
+        service.subscribeAdmin(0L);
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void subscribeTooManyConnections() {
+
+        doReturn(emitter, otherEmitter, mock(SseEmitter.class)).when(service).newEmitter();
+
+        service.subscribeUser("login", null);
+        service.subscribeAdmin(null);
+
+        assertThrows(TooManyConnectionsException.class,
+                () -> {
+                    service.subscribeUser("other", null);
+                });
+    }
+
+    @Test
+    void failedSendDropsSubscription() throws IOException {
+
+        IOException closed = new IOException("closed");
+        doReturn(emitter, otherEmitter).when(service).newEmitter();
+        doThrow(closed).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        service.subscribeAdmin(null);
+        service.subscribeAdmin(null);
+        service.onOrderStatusChanged(statusChanged(1L, "login"));
+        service.sendHeartbeats();
+
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).completeWithError(closed);
+        verify(otherEmitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(otherEmitter, never()).completeWithError(any());
+    }
+
+    @Test
+    void eventsArrivingDuringSendAreDeliveredInOrder() throws IOException {
+
+        List<String> delivered = new ArrayList<>();
+        doReturn(emitter).when(service).newEmitter();
+        doAnswer(invocation -> {
+            String eventId = eventId(invocation.getArgument(0));
+            if (delivered.isEmpty() && "1".equals(eventId)) {
+                service.onOrderStatusChanged(statusChanged(2L, "login"));
+            }
+            delivered.add(eventId);
+            return null;
+        }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        service.subscribeAdmin(null);
+        service.onOrderStatusChanged(statusChanged(1L, "login"));
+
+        assertEquals(Arrays.asList("1", "2"), delivered);
+    }
+
+    private String eventId(SseEmitter.SseEventBuilder event) {
+        String frame = event.build().iterator().next().getData().toString();
+        return frame.substring(frame.indexOf("id:") + 3, frame.indexOf('\n'));
+    }
+
+    private OrderStatusChangedEvent statusChanged(Long orderId, String login) {
+        return new OrderStatusChangedEvent(orderId, login, Status.PAID, Status.SHIPPED);
+    }
+}
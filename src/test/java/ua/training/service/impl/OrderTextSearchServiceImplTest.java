@@ -0,0 +1,226 @@
+package ua.training.service.impl;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.training.api.dto.OrderDto;
+import ua.training.api.dto.PageDto;
+import ua.training.api.mapper.OrderMapper;
+import ua.training.domain.order.Order;
+import ua.training.domain.order.Status;
+import ua.training.event.OrderDeletedEvent;
+import ua.training.event.OrderStatusChangedEvent;
+import ua.training.exception.InvalidRequestException;
+import ua.training.repository.OrderRepository;
+import ua.training.repository.projection.OrderDescription;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderTextSearchServiceImplTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    OrderMapper orderMapper;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path indexDir;
+
+    OrderTextSearchServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new OrderTextSearchServiceImpl(orderRepository, orderMapper, transactionManager);
+        ReflectionTestUtils.setField(service, "INDEX_DIR", indexDir.toString());
+        ReflectionTestUtils.setField(service, "BATCH_SIZE", 10);
+        ReflectionTestUtils.setField(service, "MAX_PAGE_SIZE", 10);
+        ReflectionTestUtils.setField(service, "indexExecutor", MoreExecutors.newDirectExecutorService());
+        service.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.close();
+    }
+
+    @Test
+    void rebuildIndexRanksMatches() {
+
+        when(orderRepository.streamOrderDescriptions()).thenReturn(Stream.of(
+                description(1L, "books and a fragile lamp"),
+                description(2L, "fragile glass, fragile vase"),
+                description(3L, "winter clothes")));
+        stubOrders();
+
+        assertEquals(3, service.rebuildIndex());
+
+        PageDto<OrderDto> result = service.search("fragile", 0, 10);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(Arrays.asList(2L, 1L), ids(result));
+    }
+
+    @Test
+    void searchPages() {
+
+        when(orderRepository.streamOrderDescriptions()).thenReturn(Stream.of(
+                description(1L, "box"),
+                description(2L, "box"),
+                description(3L, "box")));
+        stubOrders();
+
+        service.rebuildIndex();
+
+        PageDto<OrderDto> result = service.search("box", 1, 2);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(3, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+    }
+
+    @Test
+    void createdOrderIsIndexedAndDeletedOrderRemoved() {
+
+        when(orderRepository.findOrderDescriptionsByIdIn(Collections.singletonList(5L)))
+                .thenReturn(Collections.singletonList(description(5L, "guitar")));
+        stubOrders();
+
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(5L, "login", null, Status.NOT_PAID));
+
+        assertEquals(Arrays.asList(5L), ids(service.search("guitar", 0, 10)));
+
+        service.onOrderDeleted(new OrderDeletedEvent(5L, "login"));
+
+        assertEquals(0, service.search("guitar", 0, 10).getTotalElements());
+    }
+
+    @Test
+    void statusTransitionIsNotReindexed() {
+
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(5L, "login", Status.PAID, Status.SHIPPED));
+
+        verify(orderRepository, never()).findOrderDescriptionsByIdIn(any());
+    }
+
+    @Test
+    void queuedChangesAreAppliedInOneBatch() throws Exception {
+
+        ExecutorService indexExecutor = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(service, "indexExecutor", indexExecutor);
+        CountDownLatch release = new CountDownLatch(1);
+        indexExecutor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        when(orderRepository.findOrderDescriptionsByIdIn(Arrays.asList(1L, 3L)))
+                .thenReturn(Arrays.asList(description(1L, "guitar"), description(3L, "guitar case")));
+        stubOrders();
+
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(1L, "login", null, Status.NOT_PAID));
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(2L, "login", null, Status.NOT_PAID));
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(3L, "login", null, Status.NOT_PAID));
+        service.onOrderDeleted(new OrderDeletedEvent(2L, "login"));
+        release.countDown();
+        indexExecutor.submit(() -> { }).get();
+
+        assertEquals(Arrays.asList(1L, 3L), ids(service.search("guitar", 0, 10)));
+        verify(orderRepository).findOrderDescriptionsByIdIn(Arrays.asList(1L, 3L));
+    }
+
+    @Test
+    void indexChangesAreCommittedOnSchedule() throws Exception {
+
+        when(orderRepository.findOrderDescriptionsByIdIn(Collections.singletonList(5L)))
+                .thenReturn(Collections.singletonList(description(5L, "guitar")));
+
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(5L, "login", null, Status.NOT_PAID));
+
+        assertFalse(DirectoryReader.indexExists(FSDirectory.open(indexDir)));
+
+        service.commitIndex();
+
+        try (DirectoryReader reader = DirectoryReader.open(FSDirectory.open(indexDir))) {
+            assertEquals(1, reader.numDocs());
+        }
+    }
+
+    @Test
+    void searchEmptyText() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.search(" ", 0, 10);
+                });
+    }
+
+    @Test
+    void searchWrongSize() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.search("box", 0, 11);
+                });
+    }
+
+    private void stubOrders() {
+
+        when(orderRepository.findByIdIn(anyCollection())).thenAnswer(invocation ->
+                ((Collection<?>) invocation.getArgument(0)).stream()
+                        .map(id -> Order.builder().id((Long) id).build())
+                        .collect(Collectors.toList()));
+        when(orderMapper.orderToOrderDto(any(Order.class))).thenAnswer(invocation ->
+                OrderDto.builder().id(((Order) invocation.getArgument(0)).getId()).build());
+    }
+
+    private List<Long> ids(PageDto<OrderDto> page) {
+        return page.getContent().stream()
+                .map(OrderDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private OrderDescription description(Long id, String text) {
+        return new OrderDescription() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getDescription() {
+                return text;
+            }
+        };
+    }
+}
@@ -8,14 +8,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ua.training.api.dto.OrderTypeDto;
 import ua.training.api.mapper.OrderTypeMapper;
 import ua.training.domain.order.OrderType;
+import ua.training.event.ReferenceDataChangedEvent;
 import ua.training.exception.OrderTypeNotFoundException;
 import ua.training.repository.OrderTypeRepository;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -75,4 +78,21 @@ class OrderTypeServiceImplTest {
                     service.getOrderTypeById(1L);
                 });
     }
+
+    @Test
+    void getOrderTypeByIdFromReferenceData() throws OrderTypeNotFoundException {
+
+        OrderType orderType = OrderType.builder().id(1L).build();
+
+        service.onReferenceDataChanged(new ReferenceDataChangedEvent(1L, Collections.emptyList(),
+                Arrays.asList(orderType, OrderType.builder().id(2L).build())));
+
+        assertSame(orderType, service.getOrderTypeById(1L));
+        assertThrows(OrderTypeNotFoundException.class,
+                () -> {
+                    service.getOrderTypeById(3L);
+                });
+
+        verifyNoInteractions(orderTypeRepository);
+    }
 }
@@ -0,0 +1,174 @@
+package ua.training.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.training.api.dto.QuoteDto;
+import ua.training.api.dto.QuoteRequestDto;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.domain.order.OrderType;
+import ua.training.event.ReferenceDataChangedEvent;
+import ua.training.exception.DestinationNotFoundException;
+import ua.training.exception.InvalidRequestException;
+import ua.training.exception.OrderTypeNotFoundException;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteServiceImplTest {
+
+    QuoteServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+
+        service = new QuoteServiceImpl();
+        ReflectionTestUtils.setField(service, "BASE_PRICE", Money.of(5));
+        ReflectionTestUtils.setField(service, "WEIGHT_COEFFICIENT", Money.valueOf("0.25"));
+        ReflectionTestUtils.setField(service, "BATCH_MAX_SIZE", 3);
+
+        publish(new ReferenceDataChangedEvent(1L,
+                Arrays.asList(
+                        Destination.builder().id(1L).cityFrom("Київ").cityTo("Львів")
+                                .daysToDeliver(3L).priceInCents(Money.of(3)).build(),
+                        Destination.builder().id(2L).cityFrom("Львів").cityTo("Київ")
+                                .daysToDeliver(2L).priceInCents(Money.of(4)).build(),
+                        Destination.builder().id(3L).cityFrom("Львів").cityTo("Ужгород")
+                                .daysToDeliver(1L).priceInCents(Money.of(6)).build()),
+                Arrays.asList(
+                        OrderType.builder().id(1L).priceInCents(Money.of(2)).build(),
+                        OrderType.builder().id(4L).priceInCents(Money.of(8)).build())));
+    }
+
+    @Test
+    void quote() throws Exception {
+
+        QuoteDto result = service.quote(request("Львів", "Київ", "4", "2"));
+
+        assertEquals(Money.valueOf("17.50"), result.getShippingPriceInCents());
+        assertEquals(2L, result.getDaysToDeliver());
+        assertNull(result.getError());
+    }
+
+    @Test
+    void quoteWithoutDirectDestination() {
+
+        assertThrows(DestinationNotFoundException.class,
+                () -> {
+                    service.quote(request("Київ", "Ужгород", "1", "2"));
+                });
+    }
+
+    @Test
+    void quoteUnknownDestination() {
+
+        assertThrows(DestinationNotFoundException.class,
+                () -> {
+                    service.quote(request("Київ", "Одеса", "1", "1"));
+                });
+    }
+
+    @Test
+    void quoteUnknownOrderType() {
+
+        assertThrows(OrderTypeNotFoundException.class,
+                () -> {
+                    service.quote(request("Київ", "Львів", "x", "1"));
+                });
+    }
+
+    @Test
+    void quoteWrongWeight() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.quote(request("Київ", "Львів", "1", "0"));
+                });
+    }
+
+    @Test
+    void quoteAllReportsEachItem() {
+
+        List<QuoteDto> result = service.quoteAll(Arrays.asList(
+                request("Київ", "Львів", "1", "4"),
+                request("Київ", "Одеса", "1", "4"),
+                null));
+
+        assertEquals(3, result.size());
+        assertEquals(Money.of(11), result.get(0).getShippingPriceInCents());
+        assertEquals(1, result.get(1).getIndex());
+        assertEquals("no destination : Київ - Одеса", result.get(1).getError());
+        assertNotNull(result.get(2).getError());
+    }
+
+    @Test
+    void quoteAllWrongSize() {
+
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.quoteAll(Collections.emptyList());
+                });
+        assertThrows(InvalidRequestException.class,
+                () -> {
+                    service.quoteAll(Collections.nCopies(4, request("Київ", "Львів", "1", "1")));
+                });
+    }
+
+    @Test
+    void referenceDataChangeReplacesMatrix() throws Exception {
+
+        publish(new ReferenceDataChangedEvent(2L,
+                Collections.singletonList(Destination.builder().id(1L).cityFrom("Київ").cityTo("Львів")
+                        .daysToDeliver(3L).priceInCents(Money.of(10)).build()),
+                Collections.singletonList(OrderType.builder().id(1L).priceInCents(Money.of(1)).build())));
+
+        assertEquals(Money.valueOf("16.25"),
+                service.quote(request("Київ", "Львів", "1", "1")).getShippingPriceInCents());
+        assertThrows(DestinationNotFoundException.class,
+                () -> {
+                    service.quote(request("Львів", "Київ", "1", "1"));
+                });
+    }
+
+    @Test
+    void referenceDataWithoutPricesIsSkipped() throws Exception {
+
+        publish(new ReferenceDataChangedEvent(2L,
+                Arrays.asList(
+                        Destination.builder().id(1L).cityFrom("Київ").cityTo("Одеса").daysToDeliver(1L).build(),
+                        Destination.builder().id(2L).cityFrom("Київ").cityTo("Львів")
+                                .daysToDeliver(3L).priceInCents(Money.of(10)).build()),
+                Arrays.asList(
+                        OrderType.builder().id(1L).build(),
+                        OrderType.builder().id(2L).priceInCents(Money.of(1)).build())));
+
+        assertEquals(Money.valueOf("16.25"),
+                service.quote(request("Київ", "Львів", "2", "1")).getShippingPriceInCents());
+        assertThrows(DestinationNotFoundException.class,
+                () -> {
+                    service.quote(request("Київ", "Одеса", "2", "1"));
+                });
+        assertThrows(OrderTypeNotFoundException.class,
+                () -> {
+                    service.quote(request("Київ", "Львів", "1", "1"));
+                });
+    }
+
+    private void publish(ReferenceDataChangedEvent event) {
+        service.onReferenceDataChanged(event);
+    }
+
+    private QuoteRequestDto request(String cityFrom, String cityTo, String type, String weight) {
+        return QuoteRequestDto.builder()
+                .destinationCityFrom(cityFrom)
+                .destinationCityTo(cityTo)
+                .type(type)
+                .weight(new BigDecimal(weight))
+                .build();
+    }
+}
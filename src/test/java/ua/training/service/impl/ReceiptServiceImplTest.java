@@ -10,9 +10,9 @@ import ua.training.api.dto.OrderDto;
 import ua.training.api.dto.ReceiptDto;
 import ua.training.api.dto.UserDto;
 import ua.training.api.mapper.ReceiptMapper;
+import ua.training.domain.order.Money;
 import ua.training.domain.order.Receipt;
 import ua.training.domain.order.Status;
-import ua.training.domain.user.User;
 import ua.training.exception.OrderNotFoundException;
 import ua.training.exception.OrderReceiptNotFoundException;
 import ua.training.repository.ReceiptRepository;
@@ -23,7 +23,6 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -52,16 +51,15 @@ class ReceiptServiceImplTest {
 
     @Test
     void showAllChecks() {
-        List<Receipt> receiptList = Arrays.asList(Receipt.builder().build(), Receipt.builder().build());
-        when(receiptRepository.findAll()).thenReturn(receiptList);
-        when(receiptMapper.orderCheckToOrderCheckDto(any(Receipt.class))).thenReturn(ReceiptDto.builder().build());
+        List<ReceiptDto> receiptList = Arrays.asList(ReceiptDto.builder().build(), ReceiptDto.builder().build());
+        when(receiptRepository.findAllReceiptDto()).thenReturn(receiptList);
 
         List<ReceiptDto> result = service.showAllChecks();
 
         assertEquals(result.size(), receiptList.size());
 
-        verify(receiptRepository).findAll();
-        verify(receiptMapper, times(receiptList.size())).orderCheckToOrderCheckDto(any(Receipt.class));
+        verify(receiptRepository).findAllReceiptDto();
+        verify(receiptMapper, never()).orderCheckToOrderCheckDto(any(Receipt.class));
     }
 
     @Test
@@ -95,25 +93,20 @@ class ReceiptServiceImplTest {
 
     @Test
     void showChecksByUser() {
-        final String LOGIN1 = "login1";
-        final String LOGIN2 = "login2";
-        Receipt receipt1 = Receipt.builder().id(1L).user(User.builder().id(3L).login(LOGIN1).build()).build();
-        Receipt receipt2 = Receipt.builder().id(2L).user(User.builder().id(4L).login(LOGIN2).build()).build();
+        final String LOGIN = "login1";
+        List<ReceiptDto> receiptList = Arrays.asList(
+                new ReceiptDto(1L, 5L, Money.of(1), 3L, 7L, null),
+                new ReceiptDto(2L, 6L, Money.of(10), 3L, 7L, null)
+        );
+        when(receiptRepository.findReceiptDtoByUser_Login(LOGIN)).thenReturn(receiptList);
 
-        List<Receipt> receiptList = Arrays.asList(receipt1, receipt2);
-        when(receiptRepository.findAllByUser_Login(anyString())).thenReturn(receiptList);
+        List<ReceiptDto> result = service.showChecksByUser(LOGIN);
 
-        List<ReceiptDto> receiptDtoList = receiptList.stream()
-                .map(ReceiptMapper.INSTANCE::orderCheckToOrderCheckDto)
-                .collect(Collectors.toList());
-
-        List<ReceiptDto> result = service.showChecksByUser(LOGIN1);
-
-        assertEquals(result.size(), receiptDtoList.size());
-        assertEquals(result.get(0).getUserId(), receiptDtoList.get(0).getUserId());
-        assertEquals(result.get(1).getUserId(), receiptDtoList.get(1).getUserId());
+        assertEquals(result.size(), receiptList.size());
+        assertEquals(Long.valueOf(3L), result.get(0).getUserId());
+        assertEquals(Long.valueOf(6L), result.get(1).getOrderId());
 
-        verify(receiptRepository).findAllByUser_Login(anyString());
+        verify(receiptRepository).findReceiptDtoByUser_Login(LOGIN);
     }
 
     @Test
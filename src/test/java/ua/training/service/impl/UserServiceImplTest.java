@@ -174,21 +174,20 @@ class UserServiceImplTest {
     @Test
     void findAllUsers() {
 
-        List<User> users = Arrays.asList(
-                User.builder().build(),
-                User.builder().build(),
-                User.builder().build()
+        List<UserDto> users = Arrays.asList(
+                UserDto.builder().build(),
+                UserDto.builder().build(),
+                UserDto.builder().build()
         );
 
-        when(userRepository.findAll()).thenReturn(users);
-        when(userMapper.userToUserDto(any(User.class))).thenReturn(UserDto.builder().build());
+        when(userRepository.findAllUserDto()).thenReturn(users);
 
         List<UserDto> result = service.findAllUsers();
 
         assertEquals(result.size(), users.size());
 
-        verify(userRepository).findAll();
-        verify(userMapper, times(users.size())).userToUserDto(any(User.class));
+        verify(userRepository).findAllUserDto();
+        verify(userMapper, never()).userToUserDto(any(User.class));
     }
 
     @Test
@@ -0,0 +1,97 @@
+package ua.training.service.route;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.training.domain.order.Destination;
+import ua.training.domain.order.Money;
+import ua.training.event.ReferenceDataChangedEvent;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutePlannerTest {
+
+    RoutePlanner planner;
+
+    @BeforeEach
+    void setUp() {
+
+        planner = new RoutePlanner();
+        planner.onReferenceDataChanged(new ReferenceDataChangedEvent(1L, Arrays.asList(
+                destination(1L, "Київ", "Львів", 1L, 10),
+                destination(2L, "Львів", "Ужгород", 1L, 10),
+                destination(3L, "Київ", "Одеса", 3L, 2),
+                destination(4L, "Одеса", "Ужгород", 3L, 2),
+                destination(5L, "Ужгород", "Київ", 2L, 5)), Collections.emptyList()));
+    }
+
+    @Test
+    void findCheapestRoute() {
+
+        Route route = planner.findCheapestRoute("Київ", "Ужгород").orElseThrow(AssertionError::new);
+
+        assertEquals(Arrays.asList("Київ", "Одеса", "Ужгород"), route.getCities());
+        assertEquals(Money.of(4), route.getPriceInCents());
+        assertEquals(6L, route.getDaysToDeliver());
+        assertFalse(route.isDirect());
+    }
+
+    @Test
+    void findFastestRoute() {
+
+        Route route = planner.findFastestRoute("Київ", "Ужгород").orElseThrow(AssertionError::new);
+
+        assertEquals(Arrays.asList("Київ", "Львів", "Ужгород"), route.getCities());
+        assertEquals(Money.of(20), route.getPriceInCents());
+        assertEquals(2L, route.getDaysToDeliver());
+    }
+
+    @Test
+    void findRouteThroughReturnLeg() {
+
+        Route route = planner.findCheapestRoute("Одеса", "Львів").orElseThrow(AssertionError::new);
+
+        assertEquals(Arrays.asList("Одеса", "Ужгород", "Київ", "Львів"), route.getCities());
+        assertEquals(Money.of(17), route.getPriceInCents());
+        assertEquals(3, route.getLegs().size());
+    }
+
+    @Test
+    void prefersCheaperDirectRoute() {
+
+        Route route = planner.findCheapestRoute("Ужгород", "Київ").orElseThrow(AssertionError::new);
+
+        assertTrue(route.isDirect());
+        assertEquals(Long.valueOf(5L), route.getLegs().get(0).getId());
+    }
+
+    @Test
+    void noRoute() {
+
+        assertFalse(planner.findCheapestRoute("Київ", "Київ").isPresent());
+        assertFalse(planner.findCheapestRoute("Київ", "Харків").isPresent());
+        assertFalse(planner.findFastestRoute(null, "Київ").isPresent());
+    }
+
+    @Test
+    void referenceDataChangeRebuildsMatrix() {
+
+        planner.onReferenceDataChanged(new ReferenceDataChangedEvent(2L, Collections.singletonList(
+                destination(1L, "Київ", "Львів", 1L, 10)), Collections.emptyList()));
+
+        assertTrue(planner.findCheapestRoute("Київ", "Львів").isPresent());
+        assertFalse(planner.findCheapestRoute("Київ", "Ужгород").isPresent());
+    }
+
+    private Destination destination(Long id, String cityFrom, String cityTo, Long daysToDeliver, long price) {
+        return Destination.builder()
+                .id(id)
+                .cityFrom(cityFrom)
+                .cityTo(cityTo)
+                .daysToDeliver(daysToDeliver)
+                .priceInCents(Money.of(price))
+                .build();
+    }
+}